@@ -74,6 +74,9 @@ export function RankingCard() {
                 </h2>
              </div>
              <p className="mt-4 text-xs font-medium text-light-muted uppercase tracking-wider">of all {totalUsers} candidates</p>
+             {rankData?.topPercent != null && (
+               <p className="mt-1 text-xs text-light-secondary">Top {rankData.topPercent}%</p>
+             )}
            </>
          )}
       </div>
@@ -81,12 +81,36 @@ export const resumeAPI = {
         "Content-Type": "multipart/form-data",
       },
     });
+    // Parsing happens in the background - wait until the resume is ready
+    const resumeId = response.data.resumeId;
+    for (let attempt = 0; attempt < 60; attempt++) {
+      const status = await resumeAPI.getStatus(resumeId);
+      if (status.status === "PARSED") {
+        return { ...response.data, status: status.status };
+      }
+      if (status.status === "FAILED") {
+        throw new Error(status.failureReason || "Failed to process resume");
+      }
+      await new Promise((resolve) => setTimeout(resolve, 1000));
+    }
+    throw new Error("Resume processing is taking longer than expected");
+  },
+  getStatus: async (resumeId: number) => {
+    const response = await api.get(`/api/resumes/${resumeId}/status`);
     return response.data;
   },
   analyze: async (resumeId: number) => {
     const response = await api.post(`/api/resumes/${resumeId}/analyze`);
     return response.data;
   },
+  // Fetches the original file; pass a byte range to preview large files incrementally
+  getFile: async (resumeId: number, range?: { start: number; end: number }) => {
+    const response = await api.get(`/api/resumes/${resumeId}/file`, {
+      responseType: "blob",
+      headers: range ? { Range: `bytes=${range.start}-${range.end}` } : undefined,
+    });
+    return response.data as Blob;
+  },
   getMyResumes: async () => {
     const response = await api.get("/api/resumes");
     return response.data;
@@ -149,6 +173,7 @@ export interface UserRankResponse {
   rank: number;
   totalUsers: number;
   userScore: number;
+  topPercent?: number | null;
 }
 
 export const dashboardAPI = {
@@ -180,15 +205,33 @@ export interface InterviewHistoryItem {
   feedbackStatus: string;
 }
 
+// Keyset-paginated lists: pass nextCursor back as cursor, null when there are no more
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
 export const historyAPI = {
-  getResumeHistory: async () => {
-    const response = await api.get("/api/history/resumes");
+  getResumeHistoryPage: async (cursor?: string, limit?: number): Promise<CursorPage<ResumeHistoryItem>> => {
+    const response = await api.get("/api/history/resumes", { params: { cursor, limit } });
+    return response.data;
+  },
+  getInterviewHistoryPage: async (cursor?: string, limit?: number): Promise<CursorPage<InterviewHistoryItem>> => {
+    const response = await api.get("/api/history/interviews", { params: { cursor, limit } });
     return response.data;
   },
-  getInterviewHistory: async () => {
-    const response = await api.get("/api/history/interviews");
+  // Full interview + credit history as a file download
+  exportHistory: async (format: "csv" | "ndjson" = "csv"): Promise<Blob> => {
+    const response = await api.get("/api/history/export", { params: { format }, responseType: "blob" });
     return response.data;
   },
+  // Most recent entries only (one page of up to 100)
+  getResumeHistory: async (): Promise<ResumeHistoryItem[]> => {
+    return (await historyAPI.getResumeHistoryPage(undefined, 100)).items;
+  },
+  getInterviewHistory: async (): Promise<InterviewHistoryItem[]> => {
+    return (await historyAPI.getInterviewHistoryPage(undefined, 100)).items;
+  },
 };
 // Support API
 export const supportAPI = {
@@ -0,0 +1,35 @@
+package com.example.theinterviewer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Scheduler for @Scheduled jobs and the ingestion watchdog. The STOMP broker
+ * registers its own TaskScheduler, which stops Boot from creating one, so
+ * without this the jobs would share the broker's heartbeat threads.
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    public static final String TASK_SCHEDULER = "taskScheduler";
+
+    @Value("${scheduling.pool-size:4}")
+    private int poolSize;
+
+    @Bean(name = TASK_SCHEDULER)
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler());
+    }
+}
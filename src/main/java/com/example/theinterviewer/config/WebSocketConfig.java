@@ -0,0 +1,52 @@
+package com.example.theinterviewer.config;
+
+import com.example.theinterviewer.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP over WebSocket transport for the live interview loop.
+ * Clients connect to /ws/interview, send to /app/interviews/{sessionId}/...
+ * and receive events on /user/queue/interviews/{sessionId}.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws/interview")
+                .setAllowedOriginPatterns(
+                        "http://localhost:3000",
+                        "http://localhost:5173",
+                        "http://theinterviewer.site",
+                        "https://theinterviewer.site",
+                        "http://98.130.121.115");
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/queue");
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+        // Answer evaluation blocks on the Groq call, so give the inbound channel
+        // enough workers that one slow evaluation doesn't stall other sessions
+        registration.taskExecutor()
+                .corePoolSize(8)
+                .maxPoolSize(32)
+                .queueCapacity(200);
+    }
+}
@@ -1,10 +1,9 @@
 package com.example.theinterviewer.controller;
 
+import com.example.theinterviewer.dto.common.CursorPage;
 import com.example.theinterviewer.dto.credit.CreditBalanceResponse;
 import com.example.theinterviewer.dto.credit.CreditTransactionDTO;
 import com.example.theinterviewer.entity.CreditTransaction;
-import com.example.theinterviewer.entity.User;
-import com.example.theinterviewer.repository.UserRepository;
 import com.example.theinterviewer.service.CreditService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -27,47 +27,23 @@ import java.util.stream.Collectors;
 public class CreditController {
 
         private final CreditService creditService;
-        private final UserRepository userRepository;
 
         @GetMapping("/balance")
         @Operation(summary = "Get user's credit balance")
         public ResponseEntity<CreditBalanceResponse> getBalance(Authentication authentication) {
                 Long userId = (Long) authentication.getPrincipal();
 
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-                // Initialize credits if null (for existing users)
-                int credits = user.getCredits() != null ? user.getCredits() : 100;
-                int freeInterviewsUsed = user.getFreeInterviewsUsed() != null ? user.getFreeInterviewsUsed() : 0;
-                int freeInterviewsRemaining = Math.max(0, 4 - freeInterviewsUsed);
-
-                CreditBalanceResponse response = new CreditBalanceResponse(
-                                credits,
-                                freeInterviewsUsed,
-                                freeInterviewsRemaining);
-
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(creditService.getBalance(userId));
         }
 
         @GetMapping("/history")
         @Operation(summary = "Get credit transaction history")
-        public ResponseEntity<List<CreditTransactionDTO>> getHistory(Authentication authentication) {
+        public ResponseEntity<CursorPage<CreditTransactionDTO>> getHistory(Authentication authentication,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer limit) {
                 Long userId = (Long) authentication.getPrincipal();
 
-                List<CreditTransaction> transactions = creditService.getHistory(userId);
-
-                List<CreditTransactionDTO> dtos = transactions.stream()
-                                .map(t -> new CreditTransactionDTO(
-                                                t.getId(),
-                                                t.getCreditChange(),
-                                                t.getBalanceAfter(),
-                                                t.getType(),
-                                                t.getDescription(),
-                                                t.getTimestamp()))
-                                .collect(Collectors.toList());
-
-                return ResponseEntity.ok(dtos);
+                return ResponseEntity.ok(creditService.getHistory(userId, cursor, limit));
         }
 
         @GetMapping("/history/recent")
@@ -1,16 +1,22 @@
 package com.example.theinterviewer.controller;
 
+import com.example.theinterviewer.dto.common.CursorPage;
 import com.example.theinterviewer.dto.history.InterviewHistoryItem;
 import com.example.theinterviewer.dto.history.ResumeHistoryItem;
+import com.example.theinterviewer.service.HistoryExportService;
 import com.example.theinterviewer.service.HistoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/history")
@@ -18,16 +24,41 @@ import java.util.List;
 public class HistoryController {
 
     private final HistoryService historyService;
+    private final HistoryExportService historyExportService;
 
     @GetMapping("/resumes")
-    public ResponseEntity<List<ResumeHistoryItem>> getResumeHistory(Authentication authentication) {
+    public ResponseEntity<CursorPage<ResumeHistoryItem>> getResumeHistory(Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Long userId = (Long) authentication.getPrincipal();
-        return ResponseEntity.ok(historyService.getResumeHistory(userId));
+        return ResponseEntity.ok(historyService.getResumeHistory(userId, cursor, limit));
     }
 
     @GetMapping("/interviews")
-    public ResponseEntity<List<InterviewHistoryItem>> getInterviewHistory(Authentication authentication) {
+    public ResponseEntity<CursorPage<InterviewHistoryItem>> getInterviewHistory(Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Long userId = (Long) authentication.getPrincipal();
-        return ResponseEntity.ok(historyService.getInterviewHistory(userId));
+        return ResponseEntity.ok(historyService.getInterviewHistory(userId, cursor, limit));
+    }
+
+    /**
+     * Full interview and credit history, streamed as it is read
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(Authentication authentication,
+            @RequestParam(defaultValue = "csv") String format) {
+        Long userId = (Long) authentication.getPrincipal();
+        HistoryExportService.Format exportFormat = HistoryExportService.Format.parse(format);
+
+        StreamingResponseBody body = out -> historyExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("history." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
     }
 }
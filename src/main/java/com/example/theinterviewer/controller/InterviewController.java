@@ -1,7 +1,7 @@
 package com.example.theinterviewer.controller;
 
+import com.example.theinterviewer.dto.common.CursorPage;
 import com.example.theinterviewer.dto.interview.*;
-import com.example.theinterviewer.entity.InterviewSession;
 import com.example.theinterviewer.service.InterviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,7 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/interviews")
@@ -96,9 +95,10 @@ public class InterviewController {
 
     @GetMapping
     @Operation(summary = "Get all interviews for current user")
-    public ResponseEntity<List<InterviewSession>> getUserInterviews(Authentication authentication) {
+    public ResponseEntity<CursorPage<InterviewSummaryResponse>> getUserInterviews(Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         Long userId = (Long) authentication.getPrincipal();
-        List<InterviewSession> interviews = interviewService.getUserInterviews(userId);
-        return ResponseEntity.ok(interviews);
+        return ResponseEntity.ok(interviewService.getUserInterviews(userId, cursor, limit));
     }
 }
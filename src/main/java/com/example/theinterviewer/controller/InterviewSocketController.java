@@ -0,0 +1,122 @@
+package com.example.theinterviewer.controller;
+
+import com.example.theinterviewer.dto.interview.AnswerEvaluationResponse;
+import com.example.theinterviewer.dto.interview.AnswerRequest;
+import com.example.theinterviewer.dto.interview.InterviewReportResponse;
+import com.example.theinterviewer.dto.interview.InterviewSocketEvent;
+import com.example.theinterviewer.dto.interview.QuestionResponse;
+import com.example.theinterviewer.service.InterviewService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * WebSocket (STOMP) counterpart of {@link InterviewController}.
+ * The connection is authenticated once at CONNECT; afterwards questions,
+ * answers, feedback and round transitions flow over the open socket.
+ * The REST endpoints remain available as a fallback for clients that
+ * cannot hold a WebSocket open.
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class InterviewSocketController {
+
+    private static final String ROUND_ATTRIBUTE_PREFIX = "interview.round.";
+
+    private final InterviewService interviewService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @MessageMapping("/interviews/{sessionId}/question")
+    public void nextQuestion(@DestinationVariable Long sessionId,
+            Principal principal,
+            SimpMessageHeaderAccessor headerAccessor) {
+        try {
+            QuestionResponse question = interviewService.getNextQuestion(sessionId, userId(principal));
+            rememberRound(headerAccessor, sessionId, question.getRoundType());
+            send(principal, sessionId, InterviewSocketEvent.EventType.QUESTION, question);
+        } catch (Exception e) {
+            sendError(principal, sessionId, e);
+        }
+    }
+
+    @MessageMapping("/interviews/{sessionId}/answer")
+    public void submitAnswer(@DestinationVariable Long sessionId,
+            @Payload AnswerRequest request,
+            Principal principal,
+            SimpMessageHeaderAccessor headerAccessor) {
+        try {
+            if (request.getQuestionId() == null || request.getUserAnswer() == null
+                    || request.getUserAnswer().isBlank()) {
+                throw new IllegalArgumentException("Question ID and answer are required");
+            }
+
+            // Acknowledge immediately so the client can show progress while the AI evaluates
+            send(principal, sessionId, InterviewSocketEvent.EventType.EVALUATING,
+                    Map.of("questionId", request.getQuestionId()));
+
+            AnswerEvaluationResponse evaluation = interviewService.submitAnswer(sessionId, userId(principal),
+                    request);
+            send(principal, sessionId, InterviewSocketEvent.EventType.FEEDBACK, evaluation);
+
+            QuestionResponse next = evaluation.getNextQuestion();
+            if (next != null) {
+                String previousRound = rememberRound(headerAccessor, sessionId, next.getRoundType());
+                if (previousRound != null && !previousRound.equals(next.getRoundType())) {
+                    send(principal, sessionId, InterviewSocketEvent.EventType.ROUND_CHANGED,
+                            Map.of("from", previousRound, "to", next.getRoundType()));
+                }
+                send(principal, sessionId, InterviewSocketEvent.EventType.QUESTION, next);
+            }
+        } catch (Exception e) {
+            sendError(principal, sessionId, e);
+        }
+    }
+
+    @MessageMapping("/interviews/{sessionId}/complete")
+    public void completeInterview(@DestinationVariable Long sessionId, Principal principal) {
+        try {
+            InterviewReportResponse report = interviewService.completeInterview(sessionId, userId(principal));
+            send(principal, sessionId, InterviewSocketEvent.EventType.COMPLETED, report);
+        } catch (Exception e) {
+            sendError(principal, sessionId, e);
+        }
+    }
+
+    private Long userId(Principal principal) {
+        return (Long) ((Authentication) principal).getPrincipal();
+    }
+
+    /**
+     * Stores the round of the question just sent and returns the previous one
+     */
+    private String rememberRound(SimpMessageHeaderAccessor headerAccessor, Long sessionId, String roundType) {
+        Map<String, Object> attributes = headerAccessor.getSessionAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (String) attributes.put(ROUND_ATTRIBUTE_PREFIX + sessionId, roundType);
+    }
+
+    private void send(Principal principal, Long sessionId, InterviewSocketEvent.EventType type, Object payload) {
+        messagingTemplate.convertAndSendToUser(
+                principal.getName(),
+                "/queue/interviews/" + sessionId,
+                new InterviewSocketEvent(type, sessionId, payload));
+    }
+
+    private void sendError(Principal principal, Long sessionId, Exception e) {
+        log.error("WebSocket interview error for session {}: {}", sessionId, e.getMessage());
+        send(principal, sessionId, InterviewSocketEvent.EventType.ERROR,
+                Map.of("message", e.getMessage() != null ? e.getMessage() : "Unexpected error"));
+    }
+}
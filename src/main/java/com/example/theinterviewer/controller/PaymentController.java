@@ -94,10 +94,12 @@ public class PaymentController {
     @Operation(summary = "Razorpay webhook handler")
     public ResponseEntity<Void> handleWebhook(
             @RequestBody String payload,
-            @RequestHeader("X-Razorpay-Signature") String signature) {
+            @RequestHeader("X-Razorpay-Signature") String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
         try {
             log.info("Received Razorpay webhook");
-            paymentService.handleWebhook(payload, signature);
+            // Stored for async processing; duplicates are acknowledged too so Razorpay stops retrying
+            paymentService.handleWebhook(payload, signature, eventId);
             return ResponseEntity.ok().build();
         } catch (SecurityException e) {
             log.error("Invalid webhook signature", e);
@@ -1,13 +1,21 @@
 package com.example.theinterviewer.controller;
 
 import com.example.theinterviewer.dto.resume.ResumeAnalysisResponse;
+import com.example.theinterviewer.dto.resume.ResumeStatusResponse;
+import com.example.theinterviewer.dto.resume.ResumeSummaryResponse;
 import com.example.theinterviewer.dto.resume.ResumeUploadResponse;
-import com.example.theinterviewer.entity.Resume;
 import com.example.theinterviewer.service.ResumeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -26,15 +34,53 @@ public class ResumeController {
     private final ResumeService resumeService;
 
     @PostMapping("/upload")
-    @Operation(summary = "Upload a resume file")
+    @Operation(summary = "Upload a resume file (parsed asynchronously, poll /status)")
     public ResponseEntity<ResumeUploadResponse> uploadResume(
             @RequestParam("file") MultipartFile file,
             Authentication authentication) throws IOException {
         Long userId = (Long) authentication.getPrincipal();
         ResumeUploadResponse response = resumeService.uploadResume(userId, file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/{resumeId}/status")
+    @Operation(summary = "Get resume processing status")
+    public ResponseEntity<ResumeStatusResponse> getResumeStatus(
+            @PathVariable Long resumeId,
+            Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        ResumeStatusResponse response = resumeService.getResumeStatus(resumeId, userId);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Range, If-None-Match and If-Modified-Since are handled by Spring MVC: a
+     * Resource body is written as byte regions and the ETag/Last-Modified set
+     * here are checked against the request before anything is read
+     */
+    @GetMapping("/{resumeId}/file")
+    @Operation(summary = "Download the original resume file (supports Range requests)")
+    public ResponseEntity<Resource> getResumeFile(
+            @PathVariable Long resumeId,
+            Authentication authentication) throws IOException {
+        Long userId = (Long) authentication.getPrincipal();
+        ResumeService.ResumeFile file = resumeService.getResumeFile(resumeId, userId);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaTypeFactory.getMediaType(file.fileName())
+                        .orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.inline().filename(file.fileName()).build().toString())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .lastModified(file.resource().lastModified());
+        if (file.contentHash() != null) {
+            response.eTag(file.contentHash());
+        }
+
+        return response.body(file.resource());
+    }
+
     @PostMapping("/{resumeId}/analyze")
     @Operation(summary = "Analyze a resume with AI")
     public ResponseEntity<ResumeAnalysisResponse> analyzeResume(
@@ -57,9 +103,9 @@ public class ResumeController {
 
     @GetMapping
     @Operation(summary = "Get all resumes for the current user")
-    public ResponseEntity<List<Resume>> getUserResumes(Authentication authentication) {
+    public ResponseEntity<List<ResumeSummaryResponse>> getUserResumes(Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
-        List<Resume> resumes = resumeService.getUserResumes(userId);
+        List<ResumeSummaryResponse> resumes = resumeService.getUserResumes(userId);
         return ResponseEntity.ok(resumes);
     }
 }
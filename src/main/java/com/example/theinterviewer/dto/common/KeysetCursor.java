@@ -0,0 +1,58 @@
+package com.example.theinterviewer.dto.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a list ordered by (timestamp DESC, id DESC): the next page starts
+ * strictly after this row. Encoded as an opaque URL-safe string.
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null for a null or blank cursor (first page)
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(MAX_LIMIT, limit));
+    }
+
+    /**
+     * Builds a page from {@code limit + 1} fetched rows; the extra row only
+     * signals that another page exists
+     */
+    public static <R, T> CursorPage<T> page(List<R> rows, int limit, Function<R, KeysetCursor> position,
+            Function<R, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<R> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String next = hasMore ? position.apply(pageRows.get(limit - 1)).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), next);
+    }
+}
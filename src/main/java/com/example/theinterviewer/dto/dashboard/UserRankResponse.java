@@ -11,4 +11,6 @@ public class UserRankResponse {
     private int rank;
     private int totalUsers;
     private double userScore;
+    // Approximate cluster-wide percentile from the merged score sketch, null when unranked
+    private Double topPercent;
 }
@@ -0,0 +1,28 @@
+package com.example.theinterviewer.dto.interview;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Envelope for every message pushed to a client over the interview WebSocket.
+ * The payload type depends on the event type (QuestionResponse,
+ * AnswerEvaluationResponse, InterviewReportResponse or an error message).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterviewSocketEvent {
+    private EventType type;
+    private Long sessionId;
+    private Object payload;
+
+    public enum EventType {
+        QUESTION,
+        EVALUATING,
+        FEEDBACK,
+        ROUND_CHANGED,
+        COMPLETED,
+        ERROR
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.theinterviewer.dto.interview;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class InterviewSummaryResponse {
+    private Long sessionId;
+    private Long resumeId;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+}
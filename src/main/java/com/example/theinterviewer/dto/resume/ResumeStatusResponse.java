@@ -0,0 +1,15 @@
+package com.example.theinterviewer.dto.resume;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeStatusResponse {
+    private Long resumeId;
+    private String status; // PENDING, PARSING, PARSED, FAILED
+    private String failureReason;
+    private boolean analysisAvailable;
+}
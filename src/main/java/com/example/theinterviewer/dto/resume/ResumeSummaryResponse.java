@@ -0,0 +1,18 @@
+package com.example.theinterviewer.dto.resume;
+
+import com.example.theinterviewer.entity.Resume;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSummaryResponse {
+    private Long resumeId;
+    private String fileName;
+    private Resume.ProcessingStatus status;
+    private LocalDateTime uploadedAt;
+}
@@ -11,4 +11,5 @@ public class ResumeUploadResponse {
     private Long resumeId;
     private String fileName;
     private LocalDateTime uploadedAt;
+    private String status;
 }
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class AiUsageLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ai_usage_log_seq")
+    @SequenceGenerator(name = "ai_usage_log_seq", sequenceName = "ai_usage_logs_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id")
@@ -0,0 +1,67 @@
+package com.example.theinterviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Credits taken from a user's balance for work that hasn't finished yet. The
+ * deduction is journaled when the hold is taken; the hold is captured when the
+ * work succeeds and released (refunding the balance, with a journaled refund)
+ * when it fails or is abandoned.
+ */
+@Entity
+@Table(name = "credit_holds", indexes = {
+        @Index(name = "idx_credit_holds_status_created", columnList = "status, created_at")
+})
+@Data
+@NoArgsConstructor
+public class CreditHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer amount;
+
+    // Balance right after the hold was taken, as on its journal entry
+    @Column(name = "balance_after", nullable = false)
+    private Integer balanceAfter;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.HELD;
+
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    // The INTERVIEW_DEDUCTION journal row written with the hold; linked to the session at capture
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "settled_at")
+    private LocalDateTime settledAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        HELD,
+        CAPTURED,
+        RELEASED
+    }
+}
@@ -6,14 +6,22 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Append-only journal of balance changes. Rows are never updated, except that a
+ * hold's deduction gets its interview linked when the hold is captured.
+ */
 @Entity
-@Table(name = "credit_transactions")
+@org.hibernate.annotations.Immutable
+@Table(name = "credit_transactions", indexes = {
+        @Index(name = "idx_credit_tx_user_timestamp", columnList = "user_id, timestamp, id")
+})
 @Data
 @NoArgsConstructor
 public class CreditTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "credit_transaction_seq")
+    @SequenceGenerator(name = "credit_transaction_seq", sequenceName = "credit_transactions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,33 @@
+package com.example.theinterviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position of a background data migration (one row per table.column),
+ * so restarts and other nodes resume where the last chunk ended
+ */
+@Entity
+@Table(name = "data_migration_progress")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataMigrationProgress {
+
+    @Id
+    @Column(length = 128)
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
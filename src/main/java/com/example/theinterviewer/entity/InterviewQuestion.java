@@ -1,5 +1,6 @@
 package com.example.theinterviewer.entity;
 
+import com.example.theinterviewer.entity.converter.CompressedTextConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,7 +17,8 @@ import java.time.LocalDateTime;
 public class InterviewQuestion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interview_question_seq")
+    @SequenceGenerator(name = "interview_question_seq", sequenceName = "interview_questions_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "session_id", nullable = false)
@@ -29,10 +31,12 @@ public class InterviewQuestion {
     @Column(name = "question_text", columnDefinition = "TEXT")
     private String questionText;
 
-    @Column(name = "user_answer", columnDefinition = "LONGTEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "user_answer", columnDefinition = "LONGBLOB")
     private String userAnswer;
 
-    @Column(name = "ai_feedback", columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "ai_feedback", columnDefinition = "BLOB")
     private String aiFeedback;
 
     @Column(name = "score")
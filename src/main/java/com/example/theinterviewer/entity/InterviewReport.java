@@ -1,5 +1,6 @@
 package com.example.theinterviewer.entity;
 
+import com.example.theinterviewer.entity.converter.CompressedTextConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -41,8 +42,8 @@ public class InterviewReport {
     @Column(name = "final_verdict")
     private FinalVerdict finalVerdict;
 
-    @Lob
-    @Column(name = "summary", columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "summary", columnDefinition = "BLOB")
     private String summary;
 
     @CreationTimestamp
@@ -9,7 +9,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "interview_sessions")
+@Table(name = "interview_sessions", indexes = {
+        @Index(name = "idx_sessions_user_started", columnList = "user_id, started_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
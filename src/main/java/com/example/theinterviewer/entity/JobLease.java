@@ -0,0 +1,31 @@
+package com.example.theinterviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which node may run a scheduled job, and until when (see JobLeaseService).
+ * Times are the database's clock, so nodes with skewed clocks still agree.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "acquired_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime acquiredAt;
+}
@@ -9,7 +9,11 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+        @Index(name = "idx_resumes_user_content_hash", columnList = "user_id, content_hash"),
+        @Index(name = "idx_resumes_user_text_hash", columnList = "user_id, text_hash"),
+        @Index(name = "idx_resumes_status_uploaded", columnList = "processing_status, uploaded_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,8 +32,29 @@ public class Resume {
     @Column(name = "file_url", columnDefinition = "TEXT")
     private String fileUrl;
 
-    @Column(name = "parsed_text", columnDefinition = "LONGTEXT")
-    private String parsedText;
+    // Parsed text lives in ResumeContent, under this resume's id once parsed, or
+    // under the original's id for an exact re-upload that shares it
+    @Column(name = "content_id")
+    private Long contentId;
+
+    // SHA-256 of the uploaded bytes
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // SHA-256 of the normalized parsed text
+    @Column(name = "text_hash", length = 64)
+    private String textHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", length = 20)
+    private ProcessingStatus processingStatus = ProcessingStatus.PARSED;
+
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    // When a worker moved the resume to PARSING, for failing parses orphaned by a restart
+    @Column(name = "parsing_started_at")
+    private LocalDateTime parsingStartedAt;
 
     @CreationTimestamp
     @Column(name = "uploaded_at", nullable = false, updatable = false)
@@ -38,4 +63,19 @@ public class Resume {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     private User user;
+
+    /**
+     * Id of the resume_contents row holding this resume's text; resumes parsed
+     * before content_id existed have their own row
+     */
+    public Long contentKey() {
+        return contentId != null ? contentId : id;
+    }
+
+    public enum ProcessingStatus {
+        PENDING,
+        PARSING,
+        PARSED,
+        FAILED
+    }
 }
@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "resume_analysis")
+@Table(name = "resume_analysis", indexes = {
+        @Index(name = "idx_resume_analysis_resume_created", columnList = "resume_id, created_at, id"),
+        @Index(name = "idx_resume_analysis_user_created", columnList = "user_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,6 +28,10 @@ public class ResumeAnalysis {
     @Column(name = "resume_id", nullable = false)
     private Long resumeId;
 
+    // Copied from the resume so a user's history seeks one index instead of joining every resume
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
     @Column(name = "ats_score")
     private Integer atsScore;
 
@@ -0,0 +1,45 @@
+package com.example.theinterviewer.entity;
+
+import com.example.theinterviewer.entity.converter.CompressedTextConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Map;
+
+/**
+ * Parsed resume text, kept out of the resumes table so loading or listing
+ * resumes doesn't drag the LONGTEXT along. Keyed by the id of the resume that
+ * was parsed; exact re-uploads point at it through Resume.contentId.
+ */
+@Entity
+@Table(name = "resume_contents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeContent {
+
+    @Id
+    @Column(name = "resume_id")
+    private Long resumeId;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "parsed_text", columnDefinition = "LONGBLOB")
+    private String parsedText;
+
+    // Section -> {start, end} character offsets into parsedText, see ResumeSectionSegmenter
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "section_offsets", columnDefinition = "JSON")
+    private Map<Section, int[]> sectionOffsets;
+
+    public enum Section {
+        SUMMARY,
+        SKILLS,
+        EXPERIENCE,
+        PROJECTS,
+        EDUCATION
+    }
+}
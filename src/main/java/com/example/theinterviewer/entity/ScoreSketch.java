@@ -0,0 +1,40 @@
+package com.example.theinterviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * One node's share of the latest-interview-score histogram (see
+ * ScoreSketchService). Summing every row gives the cluster-wide distribution.
+ */
+@Entity
+@Table(name = "score_sketches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreSketch {
+
+    public static final String BASELINE = "baseline";
+
+    @Id
+    @Column(name = "node_id", length = 64)
+    private String nodeId;
+
+    // Signed per-bin counts; a node records -1 for a user's replaced score and +1 for the new one
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "counts", columnDefinition = "JSON", nullable = false)
+    private long[] counts;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Bumped on the baseline by every rebuild; a node row carries the one it was flushed under
+    @Column(name = "generation", nullable = false)
+    private long generation;
+}
@@ -39,10 +39,12 @@ public class User {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
-    @Column(nullable = false, columnDefinition = "INT DEFAULT 100")
+    // Only changed through the conditional updates in UserRepository, so saving a
+    // stale User (e.g. on login) can't overwrite a concurrent balance change
+    @Column(nullable = false, updatable = false, columnDefinition = "INT DEFAULT 100")
     private Integer credits = 100;
 
-    @Column(name = "free_interviews_used", nullable = false, columnDefinition = "INT DEFAULT 0")
+    @Column(name = "free_interviews_used", nullable = false, updatable = false, columnDefinition = "INT DEFAULT 0")
     private Integer freeInterviewsUsed = 0;
 
     @Version
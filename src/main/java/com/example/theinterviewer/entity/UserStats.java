@@ -0,0 +1,53 @@
+package com.example.theinterviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard counters and the two most recent interview and ATS scores per user,
+ * maintained by upserts in the same transaction as the change they describe
+ * (see UserStatsRepository), so the dashboard never scans history.
+ */
+@Entity
+@Table(name = "user_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_interviews", nullable = false)
+    private long totalInterviews;
+
+    @Column(name = "completed_interviews", nullable = false)
+    private long completedInterviews;
+
+    @Column(name = "latest_interview_score")
+    private Double latestInterviewScore;
+
+    @Column(name = "previous_interview_score")
+    private Double previousInterviewScore;
+
+    @Column(name = "analysed_resumes", nullable = false)
+    private long analysedResumes;
+
+    @Column(name = "latest_ats_score")
+    private Integer latestAtsScore;
+
+    @Column(name = "previous_ats_score")
+    private Integer previousAtsScore;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    private User user;
+}
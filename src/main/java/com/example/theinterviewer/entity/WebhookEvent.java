@@ -0,0 +1,64 @@
+package com.example.theinterviewer.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A payment webhook as received, stored before it is acknowledged and applied
+ * later by WebhookInboxProcessor. The event id makes redeliveries no-ops.
+ */
+@Entity
+@Table(name = "webhook_inbox", indexes = {
+        @Index(name = "idx_webhook_inbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_webhook_inbox_order", columnList = "order_id, status, id"),
+        @Index(name = "idx_webhook_inbox_status_received", columnList = "status, received_at")
+})
+@Data
+@NoArgsConstructor
+public class WebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 100)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    // Events of one order are applied in arrival order
+    @Column(name = "order_id", length = 100)
+    private String orderId;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public enum Status {
+        PENDING,
+        PROCESSED,
+        DEAD
+    }
+}
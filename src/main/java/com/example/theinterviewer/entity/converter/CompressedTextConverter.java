@@ -0,0 +1,115 @@
+package com.example.theinterviewer.entity.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores large text columns deflate-compressed.
+ * <p>
+ * Compressed values start with a 3-byte header (0x00 'Z' version) followed by
+ * the original UTF-8 length and the deflate stream. Anything without the header
+ * is plain UTF-8 - rows written before compression existed, and values too
+ * small to be worth compressing - so old and new rows read the same way.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    private static final byte MAGIC_0 = 0x00;
+    private static final byte MAGIC_1 = 'Z';
+    private static final byte VERSION_DEFLATE = 1;
+    private static final int HEADER_LENGTH = 3 + Integer.BYTES;
+
+    // Below this the header and deflate overhead eat most of the gain
+    public static final int MIN_COMPRESS_BYTES = 256;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return compress(attribute.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        if (!isCompressed(dbData)) {
+            return new String(dbData, StandardCharsets.UTF_8);
+        }
+        return new String(decompress(dbData), StandardCharsets.UTF_8);
+    }
+
+    public static boolean isCompressed(byte[] data) {
+        return data.length >= HEADER_LENGTH && data[0] == MAGIC_0 && data[1] == MAGIC_1;
+    }
+
+    /**
+     * Compresses raw UTF-8 bytes; returns them unchanged when compression doesn't pay
+     */
+    public static byte[] compress(byte[] utf8) {
+        if (utf8.length < MIN_COMPRESS_BYTES) {
+            return utf8;
+        }
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 3 + HEADER_LENGTH);
+            out.write(MAGIC_0);
+            out.write(MAGIC_1);
+            out.write(VERSION_DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(utf8.length).array());
+
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+
+            byte[] compressed = out.toByteArray();
+            return compressed.length < utf8.length ? compressed : utf8;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] data) {
+        if (data[2] != VERSION_DEFLATE) {
+            throw new IllegalStateException("Unsupported compressed text format version: " + data[2]);
+        }
+
+        int originalLength = ByteBuffer.wrap(data, 3, Integer.BYTES).getInt();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            byte[] result = new byte[originalLength];
+            int offset = 0;
+            while (offset < originalLength && !inflater.finished()) {
+                int count = inflater.inflate(result, offset, originalLength - offset);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += count;
+            }
+            if (offset != originalLength) {
+                throw new IllegalStateException("Compressed text is truncated");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.theinterviewer.event;
+
+/**
+ * Published inside the transaction that changes a user's credit balance
+ */
+public record CreditsChanged(Long userId, int change, int balanceAfter) {
+}
@@ -0,0 +1,7 @@
+package com.example.theinterviewer.event;
+
+/**
+ * Published inside the transaction that saves the final report
+ */
+public record InterviewCompleted(Long userId, Long sessionId, Double overallScore) {
+}
@@ -0,0 +1,7 @@
+package com.example.theinterviewer.event;
+
+/**
+ * Published when an existing report's scores are recalculated
+ */
+public record InterviewReportRescored(Long userId, Long sessionId, Double overallScore) {
+}
@@ -0,0 +1,7 @@
+package com.example.theinterviewer.event;
+
+/**
+ * Published inside the transaction that creates the session
+ */
+public record InterviewStarted(Long userId, Long sessionId) {
+}
@@ -0,0 +1,7 @@
+package com.example.theinterviewer.event;
+
+/**
+ * Published when a resume analysis is saved (fresh or copied from identical content)
+ */
+public record ResumeAnalyzed(Long userId, Long resumeId, Integer atsScore) {
+}
@@ -0,0 +1,10 @@
+package com.example.theinterviewer.exception;
+
+/**
+ * The resume exists but its text isn't usable yet (still parsing, or parsing failed)
+ */
+public class ResumeNotReadyException extends RuntimeException {
+    public ResumeNotReadyException(String message) {
+        super(message);
+    }
+}
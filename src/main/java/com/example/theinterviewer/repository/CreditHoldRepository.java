@@ -0,0 +1,26 @@
+package com.example.theinterviewer.repository;
+
+import com.example.theinterviewer.entity.CreditHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CreditHoldRepository extends JpaRepository<CreditHold, Long> {
+
+    // Settling only succeeds from HELD, so a hold is captured or released exactly once
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE CreditHold h SET h.status = :status, h.sessionId = :sessionId, h.settledAt = CURRENT_TIMESTAMP "
+            + "WHERE h.id = :id AND h.status = :held")
+    int settle(@org.springframework.data.repository.query.Param("id") Long id,
+            @org.springframework.data.repository.query.Param("status") CreditHold.Status status,
+            @org.springframework.data.repository.query.Param("sessionId") Long sessionId,
+            @org.springframework.data.repository.query.Param("held") CreditHold.Status held);
+
+    List<CreditHold> findByStatusAndCreatedAtBeforeOrderByIdAsc(CreditHold.Status status, LocalDateTime cutoff,
+            Pageable pageable);
+}
@@ -10,7 +10,36 @@ import java.util.List;
 @Repository
 public interface CreditTransactionRepository extends JpaRepository<CreditTransaction, Long> {
 
-    List<CreditTransaction> findByUserOrderByTimestampDesc(User user);
+    // Keyset pages ordered by (timestamp, id) DESC; pass limit + 1 to detect a next page
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.example.theinterviewer.dto.credit.CreditTransactionDTO(t.id, t.creditChange, t.balanceAfter, t.type, t.description, t.timestamp) "
+            + "FROM CreditTransaction t WHERE t.user.id = :userId ORDER BY t.timestamp DESC, t.id DESC")
+    List<com.example.theinterviewer.dto.credit.CreditTransactionDTO> findPage(
+            @org.springframework.data.repository.query.Param("userId") Long userId,
+            org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.example.theinterviewer.dto.credit.CreditTransactionDTO(t.id, t.creditChange, t.balanceAfter, t.type, t.description, t.timestamp) "
+            + "FROM CreditTransaction t WHERE t.user.id = :userId "
+            + "AND (t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.id < :id)) "
+            + "ORDER BY t.timestamp DESC, t.id DESC")
+    List<com.example.theinterviewer.dto.credit.CreditTransactionDTO> findPageAfter(
+            @org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("timestamp") java.time.LocalDateTime timestamp,
+            @org.springframework.data.repository.query.Param("id") Long id,
+            org.springframework.data.domain.Pageable pageable);
 
     List<CreditTransaction> findTop10ByUserOrderByTimestampDesc(User user);
+
+    // Native, since the entity is immutable; the only change a journal row ever sees
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE credit_transactions SET related_interview_id = :sessionId WHERE id = :id AND related_interview_id IS NULL", nativeQuery = true)
+    int linkInterview(@org.springframework.data.repository.query.Param("id") Long id,
+            @org.springframework.data.repository.query.Param("sessionId") Long sessionId);
+
+    // Forward-only stream for exports, see InterviewReportRepository.streamHistory
+    @org.springframework.data.jpa.repository.QueryHints(@jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @org.springframework.data.jpa.repository.Query("SELECT new com.example.theinterviewer.dto.credit.CreditTransactionDTO(t.id, t.creditChange, t.balanceAfter, t.type, t.description, t.timestamp) "
+            + "FROM CreditTransaction t WHERE t.user.id = :userId ORDER BY t.timestamp DESC, t.id DESC")
+    java.util.stream.Stream<com.example.theinterviewer.dto.credit.CreditTransactionDTO> streamHistory(
+            @org.springframework.data.repository.query.Param("userId") Long userId);
 }
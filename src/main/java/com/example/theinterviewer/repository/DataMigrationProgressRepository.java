@@ -0,0 +1,9 @@
+package com.example.theinterviewer.repository;
+
+import com.example.theinterviewer.entity.DataMigrationProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataMigrationProgressRepository extends JpaRepository<DataMigrationProgress, String> {
+}
@@ -16,4 +16,13 @@ public interface InterviewQuestionRepository extends JpaRepository<InterviewQues
     List<InterviewQuestion> findBySessionIdAndRoundType(Long sessionId, InterviewQuestion.RoundType roundType);
 
     List<InterviewQuestion> findBySessionIdAndUserAnswerIsNull(Long sessionId);
+
+    // Round bookkeeping only needs the round types, not every question's answer and feedback
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT q.roundType FROM InterviewQuestion q WHERE q.sessionId = :sessionId")
+    List<InterviewQuestion.RoundType> findRoundTypesBySessionId(
+            @org.springframework.data.repository.query.Param("sessionId") Long sessionId);
+
+    @org.springframework.data.jpa.repository.Query("SELECT q.questionText FROM InterviewQuestion q JOIN q.session s WHERE s.userId = :userId")
+    List<String> findQuestionTextsByUserId(
+            @org.springframework.data.repository.query.Param("userId") Long userId);
 }
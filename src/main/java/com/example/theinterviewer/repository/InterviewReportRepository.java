@@ -11,7 +11,62 @@ public interface InterviewReportRepository extends JpaRepository<InterviewReport
 
     Optional<InterviewReport> findBySessionId(Long sessionId);
 
-    @org.springframework.data.jpa.repository.Query("SELECT ir FROM InterviewReport ir JOIN FETCH ir.session s JOIN FETCH s.profile p WHERE s.userId = :userId ORDER BY s.startedAt DESC")
-    java.util.List<InterviewReport> findAllBySessionUserId(
+    // Keyset pages ordered by the session's (startedAt, id) DESC; pass limit + 1 to detect a next page
+
+    String HISTORY_SELECT = "SELECT s.id AS sessionId, s.startedAt AS startedAt, p.id AS profileId, "
+            + "p.currentRole AS role, ir.overallScore AS overallScore, ir.finalVerdict AS finalVerdict "
+            + "FROM InterviewReport ir JOIN ir.session s JOIN s.profile p WHERE s.userId = :userId ";
+
+    @org.springframework.data.jpa.repository.Query(HISTORY_SELECT + "ORDER BY s.startedAt DESC, s.id DESC")
+    java.util.List<HistoryRow> findHistoryPage(@org.springframework.data.repository.query.Param("userId") Long userId,
+            org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query(HISTORY_SELECT
+            + "AND (s.startedAt < :startedAt OR (s.startedAt = :startedAt AND s.id < :id)) "
+            + "ORDER BY s.startedAt DESC, s.id DESC")
+    java.util.List<HistoryRow> findHistoryPageAfter(@org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("startedAt") java.time.LocalDateTime startedAt,
+            @org.springframework.data.repository.query.Param("id") Long id,
+            org.springframework.data.domain.Pageable pageable);
+
+    // Forward-only stream for exports; Integer.MIN_VALUE makes Connector/J stream rows instead of
+    // buffering the result. Must be consumed inside a transaction with no other query on the connection.
+    @org.springframework.data.jpa.repository.QueryHints(@jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @org.springframework.data.jpa.repository.Query(HISTORY_SELECT + "ORDER BY s.startedAt DESC, s.id DESC")
+    java.util.stream.Stream<HistoryRow> streamHistory(@org.springframework.data.repository.query.Param("userId") Long userId);
+
+    interface HistoryRow {
+        Long getSessionId();
+
+        java.time.LocalDateTime getStartedAt();
+
+        Long getProfileId();
+
+        String getRole();
+
+        Double getOverallScore();
+
+        InterviewReport.FinalVerdict getFinalVerdict();
+    }
+
+    // Each user's score from their most recent completed interview with a non-zero score
+    String LATEST_SCORES = "SELECT user_id AS userId, overall_score AS overallScore FROM ("
+            + "SELECT s.user_id, r.overall_score, ROW_NUMBER() OVER (PARTITION BY s.user_id "
+            + "ORDER BY s.started_at DESC, s.id DESC) AS rn "
+            + "FROM interview_report r JOIN interview_sessions s ON s.id = r.session_id "
+            + "WHERE s.session_status = 'COMPLETED' AND r.overall_score > 0";
+
+    @org.springframework.data.jpa.repository.Query(value = LATEST_SCORES + ") latest WHERE rn = 1", nativeQuery = true)
+    java.util.List<UserScore> findLatestScorePerUser();
+
+    @org.springframework.data.jpa.repository.Query(value = LATEST_SCORES
+            + " AND s.user_id = :userId) latest WHERE rn = 1", nativeQuery = true)
+    Optional<UserScore> findLatestScoreByUserId(
             @org.springframework.data.repository.query.Param("userId") Long userId);
+
+    interface UserScore {
+        Long getUserId();
+
+        Double getOverallScore();
+    }
 }
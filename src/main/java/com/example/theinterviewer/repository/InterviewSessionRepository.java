@@ -14,10 +14,25 @@ public interface InterviewSessionRepository extends JpaRepository<InterviewSessi
 
     List<InterviewSession> findByUserIdOrderByStartedAtDesc(Long userId);
 
+    // Keyset pages ordered by (startedAt, id) DESC; pass limit + 1 to detect a next page
+
+    @org.springframework.data.jpa.repository.Query("SELECT s FROM InterviewSession s WHERE s.userId = :userId ORDER BY s.startedAt DESC, s.id DESC")
+    List<InterviewSession> findPage(@org.springframework.data.repository.query.Param("userId") Long userId,
+            org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT s FROM InterviewSession s WHERE s.userId = :userId "
+            + "AND (s.startedAt < :startedAt OR (s.startedAt = :startedAt AND s.id < :id)) "
+            + "ORDER BY s.startedAt DESC, s.id DESC")
+    List<InterviewSession> findPageAfter(@org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("startedAt") java.time.LocalDateTime startedAt,
+            @org.springframework.data.repository.query.Param("id") Long id,
+            org.springframework.data.domain.Pageable pageable);
+
     List<InterviewSession> findByUserIdAndSessionStatus(Long userId, InterviewSession.SessionStatus status);
 
     long countByUserId(Long userId);
 
+    @org.springframework.transaction.annotation.Transactional
     @org.springframework.data.jpa.repository.Modifying
     @org.springframework.data.jpa.repository.Query("UPDATE InterviewSession s SET s.sessionStatus = 'ABANDONED' WHERE s.sessionStatus = 'IN_PROGRESS' AND s.updatedAt < :cutoffTime")
     int markAbandonedSessions(
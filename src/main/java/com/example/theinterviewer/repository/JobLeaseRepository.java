@@ -0,0 +1,46 @@
+package com.example.theinterviewer.repository;
+
+import com.example.theinterviewer.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // Every lease statement commits on its own, even when the job runs inside a transaction,
+    // so other nodes see the lease as soon as it is taken
+
+    @org.springframework.transaction.annotation.Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT IGNORE INTO job_leases (job_name, owner, lease_until, acquired_at) "
+            + "VALUES (:jobName, :owner, NOW(6) + INTERVAL (:leaseMs * 1000) MICROSECOND, NOW(6))", nativeQuery = true)
+    int insertIfAbsent(@org.springframework.data.repository.query.Param("jobName") String jobName,
+            @org.springframework.data.repository.query.Param("owner") String owner,
+            @org.springframework.data.repository.query.Param("leaseMs") long leaseMs);
+
+    // Taken over once expired; the current owner may also re-take it early, so a job stays on one node
+    @org.springframework.transaction.annotation.Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE job_leases SET owner = :owner, lease_until = NOW(6) + INTERVAL (:leaseMs * 1000) MICROSECOND, acquired_at = NOW(6) "
+            + "WHERE job_name = :jobName AND (lease_until <= NOW(6) OR owner = :owner)", nativeQuery = true)
+    int takeOver(@org.springframework.data.repository.query.Param("jobName") String jobName,
+            @org.springframework.data.repository.query.Param("owner") String owner,
+            @org.springframework.data.repository.query.Param("leaseMs") long leaseMs);
+
+    @org.springframework.transaction.annotation.Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE job_leases SET lease_until = NOW(6) + INTERVAL (:leaseMs * 1000) MICROSECOND "
+            + "WHERE job_name = :jobName AND owner = :owner", nativeQuery = true)
+    int renew(@org.springframework.data.repository.query.Param("jobName") String jobName,
+            @org.springframework.data.repository.query.Param("owner") String owner,
+            @org.springframework.data.repository.query.Param("leaseMs") long leaseMs);
+
+    // Kept until acquired_at + holdMs, so nodes whose tick comes shortly after don't repeat the run
+    @org.springframework.transaction.annotation.Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE job_leases SET lease_until = GREATEST(NOW(6), acquired_at + INTERVAL (:holdMs * 1000) MICROSECOND) "
+            + "WHERE job_name = :jobName AND owner = :owner", nativeQuery = true)
+    int release(@org.springframework.data.repository.query.Param("jobName") String jobName,
+            @org.springframework.data.repository.query.Param("owner") String owner,
+            @org.springframework.data.repository.query.Param("holdMs") long holdMs);
+}
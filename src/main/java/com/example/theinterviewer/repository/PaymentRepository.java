@@ -5,6 +5,7 @@ import com.example.theinterviewer.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +21,26 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByUserOrderByCreatedAtDesc(User user);
 
     Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+    // Only the first caller moves a payment to SUCCESS, so /verify and the webhook can't both add credits.
+    // Joins the caller's transaction; a null signature keeps the stored one
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE payments SET status = 'SUCCESS', razorpay_payment_id = :paymentId, "
+            + "razorpay_signature = COALESCE(:signature, razorpay_signature), completed_at = :now WHERE id = :id AND status <> 'SUCCESS'", nativeQuery = true)
+    int markSucceeded(@org.springframework.data.repository.query.Param("id") Long id,
+            @org.springframework.data.repository.query.Param("paymentId") String paymentId,
+            @org.springframework.data.repository.query.Param("signature") String signature,
+            @org.springframework.data.repository.query.Param("now") LocalDateTime now);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE payments SET status = 'FAILED' WHERE razorpay_order_id = :orderId AND status = 'CREATED'", nativeQuery = true)
+    int markFailedIfCreated(@org.springframework.data.repository.query.Param("orderId") String orderId);
+
+    // One chunk per call, each in its own short transaction; walks idx_payments_status_created
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE payments SET status = 'FAILED' WHERE status = 'CREATED' AND created_at < :cutoff "
+            + "ORDER BY created_at LIMIT :limit", nativeQuery = true)
+    int expireCreatedBefore(@org.springframework.data.repository.query.Param("cutoff") LocalDateTime cutoff,
+            @org.springframework.data.repository.query.Param("limit") int limit);
 }
@@ -13,12 +13,33 @@ public interface ResumeAnalysisRepository extends JpaRepository<ResumeAnalysis,
 
     void deleteByResumeId(Long resumeId);
 
-    @org.springframework.data.jpa.repository.Query("SELECT ra FROM ResumeAnalysis ra JOIN ra.resume r WHERE r.userId = :userId ORDER BY ra.createdAt DESC")
+    @org.springframework.data.jpa.repository.Query("SELECT ra FROM ResumeAnalysis ra WHERE ra.userId = :userId ORDER BY ra.createdAt DESC, ra.id DESC")
     java.util.List<ResumeAnalysis> findLatestByUserId(
             @org.springframework.data.repository.query.Param("userId") Long userId,
             org.springframework.data.domain.Pageable pageable);
 
-    @org.springframework.data.jpa.repository.Query("SELECT ra FROM ResumeAnalysis ra JOIN FETCH ra.resume r WHERE r.userId = :userId ORDER BY ra.createdAt DESC")
-    java.util.List<ResumeAnalysis> findAllByUserId(
-            @org.springframework.data.repository.query.Param("userId") Long userId);
+    // Keyset pages ordered by (createdAt, id) DESC over idx_resume_analysis_user_created;
+    // pass limit + 1 to detect a next page
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.example.theinterviewer.dto.history.ResumeHistoryItem(ra.id, r.fileName, ra.createdAt, ra.atsScore, ra.overallSummary) "
+            + "FROM ResumeAnalysis ra JOIN ra.resume r WHERE ra.userId = :userId ORDER BY ra.createdAt DESC, ra.id DESC")
+    java.util.List<com.example.theinterviewer.dto.history.ResumeHistoryItem> findHistoryPage(
+            @org.springframework.data.repository.query.Param("userId") Long userId,
+            org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.example.theinterviewer.dto.history.ResumeHistoryItem(ra.id, r.fileName, ra.createdAt, ra.atsScore, ra.overallSummary) "
+            + "FROM ResumeAnalysis ra JOIN ra.resume r WHERE ra.userId = :userId "
+            + "AND (ra.createdAt < :createdAt OR (ra.createdAt = :createdAt AND ra.id < :id)) "
+            + "ORDER BY ra.createdAt DESC, ra.id DESC")
+    java.util.List<com.example.theinterviewer.dto.history.ResumeHistoryItem> findHistoryPageAfter(
+            @org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("createdAt") java.time.LocalDateTime createdAt,
+            @org.springframework.data.repository.query.Param("id") Long id,
+            org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT ra FROM ResumeAnalysis ra JOIN ra.resume r WHERE r.userId = :userId AND r.textHash = :textHash ORDER BY ra.createdAt DESC")
+    java.util.List<ResumeAnalysis> findByUserIdAndTextHash(
+            @org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("textHash") String textHash,
+            org.springframework.data.domain.Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package com.example.theinterviewer.repository;
+
+import com.example.theinterviewer.entity.ResumeContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ResumeContentRepository extends JpaRepository<ResumeContent, Long> {
+
+    @org.springframework.data.jpa.repository.Query("SELECT c.parsedText FROM ResumeContent c WHERE c.resumeId = :resumeId")
+    Optional<String> findParsedTextByResumeId(
+            @org.springframework.data.repository.query.Param("resumeId") Long resumeId);
+}
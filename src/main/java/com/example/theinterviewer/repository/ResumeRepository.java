@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
@@ -12,4 +13,45 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findByUserId(Long userId);
 
     List<Resume> findByUserIdOrderByUploadedAtDesc(Long userId);
+
+    Optional<Resume> findFirstByUserIdOrderByUploadedAtDesc(Long userId);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.example.theinterviewer.dto.resume.ResumeSummaryResponse(r.id, r.fileName, r.processingStatus, r.uploadedAt) FROM Resume r WHERE r.userId = :userId ORDER BY r.uploadedAt DESC")
+    List<com.example.theinterviewer.dto.resume.ResumeSummaryResponse> findSummariesByUserId(
+            @org.springframework.data.repository.query.Param("userId") Long userId);
+
+    Optional<Resume> findFirstByUserIdAndContentHashAndProcessingStatusOrderByUploadedAtDesc(
+            Long userId, String contentHash, Resume.ProcessingStatus processingStatus);
+
+    // Status transitions for the async ingestion pipeline. Each one is conditional on the
+    // current status so a late parse result can't overwrite a timeout (and vice versa).
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Resume r SET r.processingStatus = 'PARSING', r.parsingStartedAt = CURRENT_TIMESTAMP WHERE r.id = :id AND r.processingStatus = 'PENDING'")
+    int markParsing(@org.springframework.data.repository.query.Param("id") Long id);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Resume r SET r.textHash = :textHash, r.contentId = r.id, r.processingStatus = 'PARSED' WHERE r.id = :id AND r.processingStatus = 'PARSING'")
+    int markParsed(@org.springframework.data.repository.query.Param("id") Long id,
+            @org.springframework.data.repository.query.Param("textHash") String textHash);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Resume r SET r.processingStatus = 'FAILED', r.failureReason = :reason WHERE r.id = :id AND r.processingStatus IN ('PENDING', 'PARSING')")
+    int markFailed(@org.springframework.data.repository.query.Param("id") Long id,
+            @org.springframework.data.repository.query.Param("reason") String reason);
+
+    // Recovery of work lost with a node's in-memory queue; see ResumeIngestionCleanupService
+
+    List<Resume> findByProcessingStatusAndUploadedAtBeforeOrderByIdAsc(Resume.ProcessingStatus processingStatus,
+            java.time.LocalDateTime cutoff, org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Resume r SET r.processingStatus = 'FAILED', r.failureReason = :reason "
+            + "WHERE r.processingStatus = 'PARSING' AND COALESCE(r.parsingStartedAt, r.uploadedAt) < :cutoff")
+    int failParsingStartedBefore(@org.springframework.data.repository.query.Param("cutoff") java.time.LocalDateTime cutoff,
+            @org.springframework.data.repository.query.Param("reason") String reason);
 }
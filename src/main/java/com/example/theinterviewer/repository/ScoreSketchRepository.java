@@ -0,0 +1,34 @@
+package com.example.theinterviewer.repository;
+
+import com.example.theinterviewer.entity.ScoreSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScoreSketchRepository extends JpaRepository<ScoreSketch, String> {
+
+    List<ScoreSketch> findByUpdatedAtBeforeAndNodeIdNot(LocalDateTime cutoff, String nodeId);
+
+    @org.springframework.data.jpa.repository.Lock(jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)
+    @org.springframework.data.jpa.repository.Query("SELECT s FROM ScoreSketch s WHERE s.nodeId = :nodeId")
+    Optional<ScoreSketch> findForUpdate(@org.springframework.data.repository.query.Param("nodeId") String nodeId);
+
+    // Only one node wins the seed; the rest see a duplicate key and skip
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT IGNORE INTO score_sketches (node_id, counts, updated_at, generation) VALUES (:nodeId, :counts, NOW(), 0)", nativeQuery = true)
+    int insertIfAbsent(@org.springframework.data.repository.query.Param("nodeId") String nodeId,
+            @org.springframework.data.repository.query.Param("counts") String counts);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("DELETE FROM ScoreSketch s WHERE s.nodeId = :nodeId")
+    int deleteNode(@org.springframework.data.repository.query.Param("nodeId") String nodeId);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("DELETE FROM ScoreSketch s WHERE s.nodeId <> :baseline")
+    int deleteAllNodesExcept(@org.springframework.data.repository.query.Param("baseline") String baseline);
+}
@@ -12,4 +12,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    // Balance changes are single conditional statements; the users row is locked
+    // only for the rest of the calling transaction, and never read-modify-written
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE users SET credits = credits - :amount WHERE id = :userId AND credits >= :amount", nativeQuery = true)
+    int debitCredits(@org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("amount") int amount);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE users SET credits = credits + :amount WHERE id = :userId", nativeQuery = true)
+    int creditCredits(@org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("amount") int amount);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE users SET free_interviews_used = free_interviews_used + 1 WHERE id = :userId", nativeQuery = true)
+    int incrementFreeInterviewsUsed(@org.springframework.data.repository.query.Param("userId") Long userId);
+
+    @org.springframework.data.jpa.repository.Query(value = "SELECT credits FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Integer> findCreditsById(@org.springframework.data.repository.query.Param("userId") Long userId);
 }
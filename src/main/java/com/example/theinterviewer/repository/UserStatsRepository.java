@@ -0,0 +1,51 @@
+package com.example.theinterviewer.repository;
+
+import com.example.theinterviewer.entity.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    @org.springframework.data.jpa.repository.Query("SELECT us FROM UserStats us JOIN FETCH us.user WHERE us.userId = :userId")
+    Optional<UserStats> findWithUserByUserId(@org.springframework.data.repository.query.Param("userId") Long userId);
+
+    // Upserts join the caller's transaction, so the stats commit or roll back with the change.
+    // MySQL applies ON DUPLICATE KEY assignments left to right: previous_* takes the old latest_*.
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO user_stats (user_id, total_interviews, completed_interviews, analysed_resumes, updated_at) VALUES (:userId, 1, 0, 0, NOW()) "
+            + "ON DUPLICATE KEY UPDATE total_interviews = total_interviews + 1, updated_at = NOW()", nativeQuery = true)
+    void recordInterviewStarted(@org.springframework.data.repository.query.Param("userId") Long userId);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO user_stats (user_id, total_interviews, completed_interviews, latest_interview_score, analysed_resumes, updated_at) VALUES (:userId, 0, 1, :score, 0, NOW()) "
+            + "ON DUPLICATE KEY UPDATE previous_interview_score = latest_interview_score, latest_interview_score = :score, "
+            + "completed_interviews = completed_interviews + 1, updated_at = NOW()", nativeQuery = true)
+    void recordInterviewCompleted(@org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("score") Double score);
+
+    // Recomputes latest/previous interview score from the reports, for when an existing report changes
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE user_stats us JOIN (SELECT MAX(CASE WHEN rn = 1 THEN overall_score END) AS latest, "
+            + "MAX(CASE WHEN rn = 2 THEN overall_score END) AS previous FROM (SELECT r.overall_score, "
+            + "ROW_NUMBER() OVER (ORDER BY s.started_at DESC, s.id DESC) AS rn "
+            + "FROM interview_sessions s LEFT JOIN interview_report r ON r.session_id = s.id "
+            + "WHERE s.user_id = :userId AND s.session_status = 'COMPLETED') ranked WHERE rn <= 2) scores "
+            + "SET us.latest_interview_score = scores.latest, us.previous_interview_score = scores.previous, "
+            + "us.updated_at = NOW() WHERE us.user_id = :userId", nativeQuery = true)
+    void refreshInterviewScores(@org.springframework.data.repository.query.Param("userId") Long userId);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO user_stats (user_id, total_interviews, completed_interviews, analysed_resumes, latest_ats_score, updated_at) VALUES (:userId, 0, 0, 1, :score, NOW()) "
+            + "ON DUPLICATE KEY UPDATE previous_ats_score = latest_ats_score, latest_ats_score = :score, "
+            + "analysed_resumes = analysed_resumes + 1, updated_at = NOW()", nativeQuery = true)
+    void recordResumeAnalysed(@org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("score") Integer score);
+}
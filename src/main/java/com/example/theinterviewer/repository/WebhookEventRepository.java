@@ -0,0 +1,51 @@
+package com.example.theinterviewer.repository;
+
+import com.example.theinterviewer.entity.WebhookEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Long> {
+
+    // Redeliveries of an event id hit the unique key and insert nothing
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT IGNORE INTO webhook_inbox (event_id, event_type, order_id, payload, status, attempts, received_at, next_attempt_at) "
+            + "VALUES (:eventId, :eventType, :orderId, :payload, 'PENDING', 0, :now, :now)", nativeQuery = true)
+    int insertIfAbsent(@org.springframework.data.repository.query.Param("eventId") String eventId,
+            @org.springframework.data.repository.query.Param("eventType") String eventType,
+            @org.springframework.data.repository.query.Param("orderId") String orderId,
+            @org.springframework.data.repository.query.Param("payload") String payload,
+            @org.springframework.data.repository.query.Param("now") LocalDateTime now);
+
+    /**
+     * Pending events that are due, leaving out any with an older pending event
+     * for the same order, so each order's events apply strictly in order
+     */
+    @org.springframework.data.jpa.repository.Query(value = "SELECT w.* FROM webhook_inbox w WHERE w.status = 'PENDING' AND w.next_attempt_at <= :now "
+            + "AND NOT EXISTS (SELECT 1 FROM webhook_inbox e WHERE e.order_id = w.order_id AND e.status = 'PENDING' AND e.id < w.id) "
+            + "ORDER BY w.id LIMIT :limit", nativeQuery = true)
+    List<WebhookEvent> findDue(@org.springframework.data.repository.query.Param("now") LocalDateTime now,
+            @org.springframework.data.repository.query.Param("limit") int limit);
+
+    @org.springframework.data.jpa.repository.Lock(jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)
+    @org.springframework.data.jpa.repository.Query("SELECT w FROM WebhookEvent w WHERE w.id = :id")
+    Optional<WebhookEvent> findForUpdate(@org.springframework.data.repository.query.Param("id") Long id);
+
+    // Retention sweep: one chunk per call through idx_webhook_inbox_status_received
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM webhook_inbox WHERE status = :status AND received_at < :cutoff "
+            + "ORDER BY received_at LIMIT :limit", nativeQuery = true)
+    int deleteReceivedBefore(@org.springframework.data.repository.query.Param("status") String status,
+            @org.springframework.data.repository.query.Param("cutoff") LocalDateTime cutoff,
+            @org.springframework.data.repository.query.Param("limit") int limit);
+
+    long countByStatus(WebhookEvent.Status status);
+
+    Optional<WebhookEvent> findFirstByStatusOrderByIdAsc(WebhookEvent.Status status);
+}
@@ -0,0 +1,80 @@
+package com.example.theinterviewer.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+
+/**
+ * Authenticates a STOMP connection once, on CONNECT, using the same JWT the
+ * REST API expects in the Authorization header. The resulting principal (user
+ * id) is attached to the WebSocket session and reused for every later frame,
+ * so individual messages skip token parsing entirely.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String USER_QUEUE_PREFIX = "/user/queue/";
+    private static final String APP_PREFIX = "/app/";
+
+    private final JwtTokenProvider tokenProvider;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String bearerToken = accessor.getFirstNativeHeader("Authorization");
+            if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+                throw new BadCredentialsException("Missing bearer token on STOMP CONNECT");
+            }
+
+            String jwt = bearerToken.substring(7);
+            if (!tokenProvider.validateToken(jwt)) {
+                throw new BadCredentialsException("Invalid bearer token on STOMP CONNECT");
+            }
+
+            Long userId = tokenProvider.getUserIdFromToken(jwt);
+            accessor.setUser(new UsernamePasswordAuthenticationToken(userId, null, new ArrayList<>()));
+            log.debug("STOMP session {} authenticated for user {}", accessor.getSessionId(), userId);
+        } else if (StompCommand.SEND.equals(accessor.getCommand())
+                || StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            // Every frame after CONNECT must belong to an authenticated session
+            if (accessor.getUser() == null) {
+                throw new BadCredentialsException("STOMP session is not authenticated");
+            }
+            // Raw /queue/... destinations of the simple broker belong to other sessions: clients
+            // may only subscribe to their own user queues and send to @MessageMapping handlers
+            String destination = accessor.getDestination();
+            if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                if (!hasPrefix(destination, USER_QUEUE_PREFIX)) {
+                    throw new AccessDeniedException("Subscriptions are limited to " + USER_QUEUE_PREFIX + "*");
+                }
+            } else if (!hasPrefix(destination, APP_PREFIX)) {
+                throw new AccessDeniedException("Messages can only be sent to " + APP_PREFIX + "*");
+            }
+        }
+
+        return message;
+    }
+
+    private static boolean hasPrefix(String destination, String prefix) {
+        return destination != null && destination.startsWith(prefix) && !destination.contains("..");
+    }
+}
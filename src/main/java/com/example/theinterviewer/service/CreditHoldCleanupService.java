@@ -0,0 +1,62 @@
+package com.example.theinterviewer.service;
+
+import com.example.theinterviewer.entity.CreditHold;
+import com.example.theinterviewer.repository.CreditHoldRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CreditHoldCleanupService {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final CreditHoldRepository creditHoldRepository;
+    private final CreditService creditService;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${credits.hold.expiry-minutes:15}")
+    private long expiryMinutes;
+
+    @Value("${credits.hold.sweep-interval-ms:300000}")
+    private long sweepIntervalMs;
+
+    /**
+     * Releases holds that were never settled, e.g. when the transaction that
+     * should have captured them rolled back or the node died mid-request
+     */
+    @Scheduled(fixedDelayString = "${credits.hold.sweep-interval-ms:300000}", initialDelay = 60000)
+    public void releaseExpiredHolds() {
+        jobLeaseService.runExclusively("credit-hold-cleanup", Duration.ofMillis(sweepIntervalMs * 9 / 10),
+                this::releaseExpired);
+    }
+
+    private void releaseExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(expiryMinutes);
+        int released = 0;
+        List<CreditHold> expired;
+        do {
+            expired = creditHoldRepository.findByStatusAndCreatedAtBeforeOrderByIdAsc(CreditHold.Status.HELD,
+                    cutoff, PageRequest.of(0, BATCH_SIZE));
+            for (CreditHold hold : expired) {
+                // Each release commits on its own; one settled elsewhere in between is skipped
+                if (creditService.release(hold)) {
+                    released++;
+                }
+            }
+        } while (expired.size() == BATCH_SIZE);
+
+        if (released > 0) {
+            log.info("Released {} expired credit holds (created before {})", released, cutoff);
+        }
+    }
+}
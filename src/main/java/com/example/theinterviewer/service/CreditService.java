@@ -1,15 +1,24 @@
 package com.example.theinterviewer.service;
 
+import com.example.theinterviewer.dto.common.CursorPage;
+import com.example.theinterviewer.dto.common.KeysetCursor;
+import com.example.theinterviewer.dto.credit.CreditBalanceResponse;
+import com.example.theinterviewer.dto.credit.CreditTransactionDTO;
+import com.example.theinterviewer.entity.CreditHold;
 import com.example.theinterviewer.entity.CreditTransaction;
 import com.example.theinterviewer.entity.InterviewSession;
 import com.example.theinterviewer.entity.Payment;
 import com.example.theinterviewer.entity.User;
+import com.example.theinterviewer.event.CreditsChanged;
+import com.example.theinterviewer.repository.CreditHoldRepository;
 import com.example.theinterviewer.repository.CreditTransactionRepository;
 import com.example.theinterviewer.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -21,6 +30,9 @@ public class CreditService {
 
     private final UserRepository userRepository;
     private final CreditTransactionRepository creditTransactionRepository;
+    private final CreditHoldRepository creditHoldRepository;
+    private final UserReadCache userReadCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Initialize credits for existing users (null-safety)
@@ -37,105 +49,163 @@ public class CreditService {
     }
 
     /**
-     * Check if user has sufficient credits
+     * Balance and free-interview usage, cached until the next CreditsChanged
      */
-    @Transactional(readOnly = true)
-    public boolean hasEnoughCredits(Long userId, int required) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        ensureCreditsInitialized(user);
-        return user.getCredits() >= required;
+    public CreditBalanceResponse getBalance(Long userId) {
+        return userReadCache.creditBalance(userId, id -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+            ensureCreditsInitialized(user);
+            int freeInterviewsUsed = user.getFreeInterviewsUsed();
+            return new CreditBalanceResponse(user.getCredits(), freeInterviewsUsed,
+                    Math.max(0, 4 - freeInterviewsUsed));
+        });
     }
 
     /**
-     * Get user's current credit balance
+     * Deducts credits with one conditional update and journals the change;
+     * throws if the balance doesn't cover the amount
      */
-    @Transactional(readOnly = true)
-    public int getCreditBalance(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        ensureCreditsInitialized(user);
-        return user.getCredits();
-    }
-
-    /**
-     * Atomic credit deduction with transaction logging
-     * Uses SERIALIZABLE isolation to prevent race conditions
-     */
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public void deductCredits(Long userId, int amount, CreditTransaction.TransactionType type,
+    @Transactional
+    public int deductCredits(Long userId, int amount, CreditTransaction.TransactionType type,
             String description, InterviewSession relatedInterview) {
         log.info("Deducting {} credits from user {}", amount, userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        int newBalance = debit(userId, amount);
+        journal(userId, -amount, newBalance, type, description, null, relatedInterview);
+        eventPublisher.publishEvent(new CreditsChanged(userId, -amount, newBalance));
+
+        log.info("Credits deducted successfully. New balance: {}", newBalance);
+        return newBalance;
+    }
 
-        ensureCreditsInitialized(user);
+    /**
+     * Adds credits (for payments) and journals the change
+     */
+    @Transactional
+    public int addCredits(Long userId, int amount, CreditTransaction.TransactionType type,
+            String description, Payment relatedPayment) {
+        log.info("Adding {} credits to user {}", amount, userId);
 
-        // Check sufficient credits
-        if (user.getCredits() < amount) {
-            throw new InsufficientCreditsException(
-                    String.format("Insufficient credits. Required: %d, Available: %d", amount, user.getCredits()));
+        if (userRepository.creditCredits(userId, amount) == 0) {
+            throw new IllegalArgumentException("User not found");
         }
+        int newBalance = currentBalance(userId);
+        journal(userId, amount, newBalance, type, description, relatedPayment, null);
+        eventPublisher.publishEvent(new CreditsChanged(userId, amount, newBalance));
 
-        // Deduct credits
-        int newBalance = user.getCredits() - amount;
-        user.setCredits(newBalance);
-        userRepository.save(user);
+        log.info("Credits added successfully. New balance: {}", newBalance);
+        return newBalance;
+    }
 
-        // Log transaction
-        CreditTransaction transaction = new CreditTransaction();
-        transaction.setUser(user);
-        transaction.setCreditChange(-amount);
-        transaction.setBalanceAfter(newBalance);
-        transaction.setType(type);
-        transaction.setDescription(description);
-        transaction.setRelatedInterview(relatedInterview);
-        creditTransactionRepository.save(transaction);
+    /**
+     * Takes credits off the balance for work that may still fail, journaling the
+     * deduction with it. Commits on its own so the users row isn't locked while
+     * the work runs; settle the hold with {@link #capture} or {@link #release}.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public CreditHold hold(Long userId, int amount, String description) {
+        int newBalance = debit(userId, amount);
+
+        CreditHold hold = new CreditHold();
+        hold.setUserId(userId);
+        hold.setAmount(amount);
+        hold.setBalanceAfter(newBalance);
+        hold.setDescription(description);
+        hold.setTransactionId(journal(userId, -amount, newBalance,
+                CreditTransaction.TransactionType.INTERVIEW_DEDUCTION, description, null, null).getId());
+        hold = creditHoldRepository.save(hold);
+        eventPublisher.publishEvent(new CreditsChanged(userId, -amount, newBalance));
+
+        log.info("Held {} credits for user {} (hold {}), balance {}", amount, userId, hold.getId(), newBalance);
+        return hold;
+    }
 
-        log.info("Credits deducted successfully. New balance: {}", newBalance);
+    /**
+     * Keeps a hold's credits spent and links the session they paid for to the
+     * deduction journaled when the hold was taken. Joins the caller's
+     * transaction: if that rolls back, the hold stays open for the caller to
+     * release, or for the expiry sweep.
+     */
+    @Transactional
+    public void capture(CreditHold hold, InterviewSession session) {
+        if (creditHoldRepository.settle(hold.getId(), CreditHold.Status.CAPTURED, session.getId(),
+                CreditHold.Status.HELD) == 0) {
+            throw new IllegalStateException("Credit hold " + hold.getId() + " is no longer open");
+        }
+        if (hold.getTransactionId() != null) {
+            creditTransactionRepository.linkInterview(hold.getTransactionId(), session.getId());
+        }
     }
 
     /**
-     * Atomic credit addition (for payments)
-     * Uses SERIALIZABLE isolation to prevent race conditions
+     * Returns a hold's credits to the balance and journals the refund, so the
+     * journal still accounts for every balance change; a no-op if the hold was
+     * already settled.
      */
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public void addCredits(Long userId, int amount, CreditTransaction.TransactionType type,
-            String description, Payment relatedPayment) {
-        log.info("Adding {} credits to user {}", amount, userId);
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(CreditHold hold) {
+        if (creditHoldRepository.settle(hold.getId(), CreditHold.Status.RELEASED, null,
+                CreditHold.Status.HELD) == 0) {
+            return false;
+        }
+        userRepository.creditCredits(hold.getUserId(), hold.getAmount());
+        int newBalance = currentBalance(hold.getUserId());
+        journal(hold.getUserId(), hold.getAmount(), newBalance, CreditTransaction.TransactionType.REFUND,
+                refundDescription(hold), null, null);
+        eventPublisher.publishEvent(new CreditsChanged(hold.getUserId(), hold.getAmount(), newBalance));
+
+        log.info("Released {} credits of hold {} for user {}, balance {}", hold.getAmount(), hold.getId(),
+                hold.getUserId(), newBalance);
+        return true;
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    private static String refundDescription(CreditHold hold) {
+        String description = "Refund: "
+                + (hold.getDescription() != null ? hold.getDescription() : "hold " + hold.getId());
+        return description.length() > 500 ? description.substring(0, 500) : description;
+    }
 
-        ensureCreditsInitialized(user);
+    private int debit(Long userId, int amount) {
+        if (userRepository.debitCredits(userId, amount) == 0) {
+            int available = currentBalance(userId);
+            throw new InsufficientCreditsException(
+                    String.format("Insufficient credits. Required: %d, Available: %d", amount, available));
+        }
+        // Reads this transaction's own update
+        return currentBalance(userId);
+    }
 
-        // Add credits
-        int newBalance = user.getCredits() + amount;
-        user.setCredits(newBalance);
-        userRepository.save(user);
+    private int currentBalance(Long userId) {
+        return userRepository.findCreditsById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
 
-        // Log transaction
+    private CreditTransaction journal(Long userId, int change, int balanceAfter, CreditTransaction.TransactionType type,
+            String description, Payment relatedPayment, InterviewSession relatedInterview) {
         CreditTransaction transaction = new CreditTransaction();
-        transaction.setUser(user);
-        transaction.setCreditChange(amount);
-        transaction.setBalanceAfter(newBalance);
+        transaction.setUser(userRepository.getReferenceById(userId));
+        transaction.setCreditChange(change);
+        transaction.setBalanceAfter(balanceAfter);
         transaction.setType(type);
         transaction.setDescription(description);
         transaction.setRelatedPayment(relatedPayment);
-        creditTransactionRepository.save(transaction);
-
-        log.info("Credits added successfully. New balance: {}", newBalance);
+        transaction.setRelatedInterview(relatedInterview);
+        return creditTransactionRepository.save(transaction);
     }
 
     /**
-     * Get user's credit transaction history
+     * Get one page of the user's credit transaction history, newest first
      */
     @Transactional(readOnly = true)
-    public List<CreditTransaction> getHistory(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return creditTransactionRepository.findByUserOrderByTimestampDesc(user);
+    public CursorPage<CreditTransactionDTO> getHistory(Long userId, String cursor, Integer limit) {
+        int size = KeysetCursor.clampLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest fetch = PageRequest.of(0, size + 1);
+        List<CreditTransactionDTO> rows = after == null
+                ? creditTransactionRepository.findPage(userId, fetch)
+                : creditTransactionRepository.findPageAfter(userId, after.timestamp(), after.id(), fetch);
+        return KeysetCursor.page(rows, size, t -> new KeysetCursor(t.getTimestamp(), t.getId()), t -> t);
     }
 
     /**
@@ -2,161 +2,80 @@ package com.example.theinterviewer.service;
 
 import com.example.theinterviewer.dto.dashboard.DashboardSummaryResponse;
 import com.example.theinterviewer.dto.dashboard.UserRankResponse;
-import com.example.theinterviewer.entity.InterviewReport;
-import com.example.theinterviewer.entity.InterviewSession;
-
-import com.example.theinterviewer.entity.ResumeAnalysis;
 import com.example.theinterviewer.entity.User;
+import com.example.theinterviewer.entity.UserStats;
 import com.example.theinterviewer.exception.ResourceNotFoundException;
 import com.example.theinterviewer.repository.*;
+import com.example.theinterviewer.service.leaderboard.ScoreLeaderboard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class DashboardService {
 
     private final UserRepository userRepository;
-    private final InterviewSessionRepository sessionRepository;
-    private final InterviewReportRepository reportRepository;
-
-    private final ResumeAnalysisRepository resumeAnalysisRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final ScoreLeaderboard scoreLeaderboard;
+    private final UserReadCache userReadCache;
 
     public DashboardSummaryResponse getDashboardSummary(Long userId) {
-        log.info("Getting dashboard summary for user: {}", userId);
-
-        // Get user
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // Get total interviews count
-        long totalInterviews = sessionRepository.countByUserId(userId);
-
-        // Get latest interview score & trend (only from COMPLETED sessions)
-        Double latestInterviewScore = null;
-        String interviewScoreTrend = null;
-
-        List<InterviewSession> sessions = sessionRepository.findByUserIdOrderByStartedAtDesc(userId);
-
-        // Filter only COMPLETED sessions with reports
-        List<InterviewSession> completedSessions = sessions.stream()
-                .filter(s -> s.getSessionStatus() == InterviewSession.SessionStatus.COMPLETED)
-                .toList();
-
-        if (!completedSessions.isEmpty()) {
-            InterviewSession latestSession = completedSessions.get(0);
-
-            // Get the latest score
-            latestInterviewScore = reportRepository.findBySessionId(latestSession.getId())
-                    .map(InterviewReport::getOverallScore)
-                    .orElse(null);
+        return userReadCache.dashboard(userId, this::loadDashboardSummary);
+    }
 
-            // Calculate trend if we have at least 2 completed sessions
-            if (completedSessions.size() > 1 && latestInterviewScore != null) {
-                InterviewSession previousSession = completedSessions.get(1);
-                Double previousScore = reportRepository.findBySessionId(previousSession.getId())
-                        .map(InterviewReport::getOverallScore)
-                        .orElse(null);
+    private DashboardSummaryResponse loadDashboardSummary(Long userId) {
+        log.info("Getting dashboard summary for user: {}", userId);
 
-                if (previousScore != null && previousScore > 0) {
-                    double change = ((latestInterviewScore - previousScore) / previousScore) * 100;
-                    interviewScoreTrend = (change >= 0 ? "+" : "") + String.format("%.0f%%", change);
-                }
-            } else if (latestInterviewScore != null) {
-                interviewScoreTrend = "+0%"; // First interview
-            }
+        // One primary-key read of the materialized stats (with the user joined in)
+        UserStats stats = userStatsRepository.findWithUserByUserId(userId).orElse(null);
+        if (stats == null) {
+            // No interviews or analyses yet
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            return new DashboardSummaryResponse(user.getFullName(), 0L, null, null, null, null);
         }
 
-        // Get resume ATS score & trend
-        Integer resumeAtsScore = null;
-        String resumeScoreTrend = null;
-
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0, 2);
-        List<ResumeAnalysis> analyses = resumeAnalysisRepository.findLatestByUserId(userId, pageable);
-
-        if (!analyses.isEmpty()) {
-            ResumeAnalysis latest = analyses.get(0);
-            resumeAtsScore = latest.getAtsScore();
-
-            if (analyses.size() > 1) {
-                ResumeAnalysis previous = analyses.get(1);
-                if (previous.getAtsScore() != null && previous.getAtsScore() > 0 && resumeAtsScore != null) {
-                    double change = ((double) (resumeAtsScore - previous.getAtsScore()) / previous.getAtsScore()) * 100;
-                    resumeScoreTrend = (change >= 0 ? "+" : "") + String.format("%.0f%%", change);
-                }
-            } else {
-                resumeScoreTrend = "+0%"; // First resume
-            }
-        }
+        String interviewScoreTrend = trend(stats.getLatestInterviewScore(), stats.getPreviousInterviewScore(),
+                stats.getCompletedInterviews());
+        Integer resumeAtsScore = stats.getLatestAtsScore();
+        String resumeScoreTrend = stats.getAnalysedResumes() == 1 ? "+0%" // First resume
+                : trend(toDouble(resumeAtsScore), toDouble(stats.getPreviousAtsScore()), stats.getAnalysedResumes());
 
         return new DashboardSummaryResponse(
-                user.getFullName(),
-                totalInterviews,
-                latestInterviewScore,
+                stats.getUser().getFullName(),
+                stats.getTotalInterviews(),
+                stats.getLatestInterviewScore(),
                 resumeAtsScore,
                 resumeScoreTrend,
                 interviewScoreTrend);
     }
 
-    public UserRankResponse getUserRank(Long userId) {
-        log.info("Calculating rank for user: {}", userId);
-
-        // Get all users' most recent interview scores
-        List<User> allUsers = userRepository.findAll();
-
-        // Map to store each user's most recent score
-        Map<Long, Double> userLatestScores = new HashMap<>();
-
-        for (User user : allUsers) {
-            // Get the most recent COMPLETED session for this user
-            List<InterviewSession> userSessions = sessionRepository.findByUserIdOrderByStartedAtDesc(user.getId());
-
-            for (InterviewSession session : userSessions) {
-                // Only consider COMPLETED sessions
-                if (session.getSessionStatus() == InterviewSession.SessionStatus.COMPLETED) {
-                    Optional<InterviewReport> reportOpt = reportRepository.findBySessionId(session.getId());
-
-                    if (reportOpt.isPresent()) {
-                        Double score = reportOpt.get().getOverallScore();
-                        if (score != null && score > 0) {
-                            userLatestScores.put(user.getId(), score);
-                            break; // Found the most recent completed interview
-                        }
-                    }
-                }
-            }
+    /**
+     * Percentage change from the previous score; "+0%" for the first one
+     */
+    private String trend(Double latest, Double previous, long count) {
+        if (latest == null || count == 0) {
+            return null;
         }
-
-        log.info("Total users with completed interviews: {}", userLatestScores.size());
-
-        // Get current user's score
-        Double currentUserScore = userLatestScores.get(userId);
-
-        if (currentUserScore == null) {
-            // User has no completed interviews with reports
-            log.info("User {} has no completed interviews with reports", userId);
-            return new UserRankResponse(0, userLatestScores.size(), 0.0);
+        if (count == 1) {
+            return "+0%";
         }
+        if (previous == null || previous <= 0) {
+            return null;
+        }
+        double change = ((latest - previous) / previous) * 100;
+        return (change >= 0 ? "+" : "") + String.format("%.0f%%", change);
+    }
 
-        log.info("User {} score: {}", userId, currentUserScore);
-
-        // Calculate rank (how many users have a higher score)
-        long usersWithHigherScore = userLatestScores.values().stream()
-                .filter(score -> score > currentUserScore)
-                .count();
-
-        int rank = (int) (usersWithHigherScore + 1);
-        int totalUsers = userLatestScores.size();
-
-        log.info("User {} rank: {} out of {}", userId, rank, totalUsers);
+    private Double toDouble(Integer value) {
+        return value != null ? value.doubleValue() : null;
+    }
 
-        return new UserRankResponse(rank, totalUsers, currentUserScore);
+    public UserRankResponse getUserRank(Long userId) {
+        UserRankResponse rank = scoreLeaderboard.getRank(userId);
+        log.debug("User {} rank: {} out of {}", userId, rank.getRank(), rank.getTotalUsers());
+        return rank;
     }
 }
@@ -0,0 +1,234 @@
+package com.example.theinterviewer.service;
+
+import com.example.theinterviewer.dto.credit.CreditTransactionDTO;
+import com.example.theinterviewer.repository.CreditTransactionRepository;
+import com.example.theinterviewer.repository.InterviewReportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's full interview and credit history as CSV or NDJSON. Rows come
+ * from forward-only JDBC streams and go straight to the response, so memory use
+ * doesn't depend on how much history there is.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HistoryExportService {
+
+    private static final String[] COLUMNS = { "record_type", "id", "timestamp", "description", "score",
+            "verdict", "credit_change", "balance_after" };
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private final InterviewReportRepository interviewReportRepository;
+    private final CreditTransactionRepository creditTransactionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (use csv or ndjson)");
+            }
+        }
+    }
+
+    /**
+     * Runs on the response-writing thread, so it opens its own read-only
+     * transaction for the streams
+     */
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long[] count = new long[1];
+        try {
+            rows.begin();
+            readOnly.executeWithoutResult(status -> {
+                // One stream at a time: a streaming result set holds the connection until it is closed
+                try (Stream<InterviewReportRepository.HistoryRow> interviews = interviewReportRepository
+                        .streamHistory(userId)) {
+                    write(interviews.iterator(), this::interviewRow, rows, count);
+                }
+                try (Stream<CreditTransactionDTO> credits = creditTransactionRepository.streamHistory(userId)) {
+                    write(credits.iterator(), this::creditRow, rows, count);
+                }
+            });
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Exported {} history rows for user {} as {} in {} ms", count[0], userId, format,
+                System.currentTimeMillis() - start);
+    }
+
+    private <T> void write(Iterator<T> source, Function<T, Map<String, Object>> mapper,
+            RowWriter rows, long[] count) {
+        try {
+            while (source.hasNext()) {
+                rows.write(mapper.apply(source.next()));
+                if (++count[0] % FLUSH_EVERY_ROWS == 0) {
+                    rows.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Usually the client went away; abandon the stream and roll back
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> interviewRow(InterviewReportRepository.HistoryRow row) {
+        // The tech-stack fallback used by the history page needs another query, which
+        // can't run while the result set is streaming, so the role is exported as stored
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("record_type", "interview");
+        values.put("id", row.getSessionId());
+        values.put("timestamp", row.getStartedAt());
+        values.put("description", row.getRole());
+        values.put("score", row.getOverallScore());
+        values.put("verdict", row.getFinalVerdict());
+        values.put("credit_change", null);
+        values.put("balance_after", null);
+        return values;
+    }
+
+    private Map<String, Object> creditRow(CreditTransactionDTO transaction) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("record_type", "credit");
+        values.put("id", transaction.getId());
+        values.put("timestamp", transaction.getTimestamp());
+        values.put("description", transaction.getType() + (transaction.getDescription() != null
+                ? ": " + transaction.getDescription()
+                : ""));
+        values.put("score", null);
+        values.put("verdict", null);
+        values.put("credit_change", transaction.getCreditChange());
+        values.put("balance_after", transaction.getBalanceAfter());
+        return values;
+    }
+
+    private interface RowWriter {
+        default void begin() throws IOException {
+        }
+
+        void write(Map<String, Object> values) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Map<String, Object> values) throws IOException {
+            boolean first = true;
+            for (String column : COLUMNS) {
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                Object value = values.get(column);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * RFC 4180 quoting, plus a leading quote on values a spreadsheet would
+         * treat as a formula
+         */
+        private static String escape(String value) {
+            String safe = !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0
+                    && !value.matches("-?\\d+(\\.\\d+)?")
+                            ? "'" + value
+                            : value;
+            if (safe.indexOf(',') < 0 && safe.indexOf('"') < 0 && safe.indexOf('\n') < 0
+                    && safe.indexOf('\r') < 0) {
+                return safe;
+            }
+            return '"' + safe.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Map<String, Object> values) throws IOException {
+            writer.write(objectMapper.writeValueAsString(values));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.theinterviewer.service;
 
+import com.example.theinterviewer.dto.common.CursorPage;
+import com.example.theinterviewer.dto.common.KeysetCursor;
 import com.example.theinterviewer.dto.history.InterviewHistoryItem;
 import com.example.theinterviewer.dto.history.ResumeHistoryItem;
+import com.example.theinterviewer.entity.InterviewProfile;
+import com.example.theinterviewer.repository.InterviewProfileRepository;
 import com.example.theinterviewer.repository.InterviewReportRepository;
 import com.example.theinterviewer.repository.ResumeAnalysisRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -18,40 +22,68 @@ public class HistoryService {
 
     private final ResumeAnalysisRepository resumeAnalysisRepository;
     private final InterviewReportRepository interviewReportRepository;
+    private final InterviewProfileRepository profileRepository;
+    private final UserReadCache userReadCache;
 
-    public List<ResumeHistoryItem> getResumeHistory(Long userId) {
+    /**
+     * The default-sized first page is served from the per-user cache
+     */
+    public CursorPage<ResumeHistoryItem> getResumeHistory(Long userId, String cursor, Integer limit) {
+        int size = KeysetCursor.clampLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after == null && size == KeysetCursor.DEFAULT_LIMIT) {
+            return userReadCache.resumeHistory(userId, id -> loadResumeHistory(id, null, size));
+        }
+        return loadResumeHistory(userId, after, size);
+    }
+
+    public CursorPage<InterviewHistoryItem> getInterviewHistory(Long userId, String cursor, Integer limit) {
+        int size = KeysetCursor.clampLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (after == null && size == KeysetCursor.DEFAULT_LIMIT) {
+            return userReadCache.interviewHistory(userId, id -> loadInterviewHistory(id, null, size));
+        }
+        return loadInterviewHistory(userId, after, size);
+    }
+
+    private CursorPage<ResumeHistoryItem> loadResumeHistory(Long userId, KeysetCursor after, int limit) {
         log.info("Fetching resume history for user: {}", userId);
-        return resumeAnalysisRepository.findAllByUserId(userId).stream()
-                .map(analysis -> new ResumeHistoryItem(
-                        analysis.getId(),
-                        analysis.getResume().getFileName(),
-                        analysis.getCreatedAt(),
-                        analysis.getAtsScore(),
-                        analysis.getOverallSummary()))
-                .collect(Collectors.toList());
+        PageRequest fetch = PageRequest.of(0, limit + 1);
+        List<ResumeHistoryItem> rows = after == null
+                ? resumeAnalysisRepository.findHistoryPage(userId, fetch)
+                : resumeAnalysisRepository.findHistoryPageAfter(userId, after.timestamp(), after.id(), fetch);
+        return KeysetCursor.page(rows, limit, item -> new KeysetCursor(item.getAnalyzedAt(), item.getId()),
+                item -> item);
     }
 
-    public List<InterviewHistoryItem> getInterviewHistory(Long userId) {
+    private CursorPage<InterviewHistoryItem> loadInterviewHistory(Long userId, KeysetCursor after, int limit) {
         log.info("Fetching interview history for user: {}", userId);
-        return interviewReportRepository.findAllBySessionUserId(userId).stream()
-                .map(report -> {
-                    String role = report.getSession().getProfile().getCurrentRole();
-                    // Fallback to tech stack if role is empty (though it shouldn't be)
-                    if (role == null || role.isEmpty()) {
-                        role = String.join(", ", report.getSession().getProfile().getTechStack());
-                    }
-
-                    String feedbackStatus = report.getFinalVerdict() != null ? report.getFinalVerdict().toString()
-                            : "COMPLETED";
-
-                    return new InterviewHistoryItem(
-                            report.getSession().getId(),
-                            role,
-                            report.getSession().getStartedAt(),
-                            report.getOverallScore(),
-                            1, // Placeholder for rounds
-                            feedbackStatus);
-                })
-                .collect(Collectors.toList());
+        PageRequest fetch = PageRequest.of(0, limit + 1);
+        List<InterviewReportRepository.HistoryRow> rows = after == null
+                ? interviewReportRepository.findHistoryPage(userId, fetch)
+                : interviewReportRepository.findHistoryPageAfter(userId, after.timestamp(), after.id(), fetch);
+        return KeysetCursor.page(rows, limit, row -> new KeysetCursor(row.getStartedAt(), row.getSessionId()),
+                this::toInterviewHistoryItem);
+    }
+
+    private InterviewHistoryItem toInterviewHistoryItem(InterviewReportRepository.HistoryRow row) {
+        String role = row.getRole();
+        // Fallback to tech stack if role is empty (though it shouldn't be)
+        if (role == null || role.isEmpty()) {
+            role = profileRepository.findById(row.getProfileId())
+                    .map(InterviewProfile::getTechStack)
+                    .map(stack -> String.join(", ", stack))
+                    .orElse("");
+        }
+
+        String feedbackStatus = row.getFinalVerdict() != null ? row.getFinalVerdict().toString() : "COMPLETED";
+
+        return new InterviewHistoryItem(
+                row.getSessionId(),
+                role,
+                row.getStartedAt(),
+                row.getOverallScore(),
+                1, // Placeholder for rounds
+                feedbackStatus);
     }
 }
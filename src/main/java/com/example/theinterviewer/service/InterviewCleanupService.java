@@ -5,8 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Service
@@ -15,14 +14,19 @@ import java.time.LocalDateTime;
 public class InterviewCleanupService {
 
     private final InterviewSessionRepository interviewSessionRepository;
+    private final JobLeaseService jobLeaseService;
 
     /**
      * Runs every 15 minutes to mark abandoned sessions.
      * Criteria: Session is IN_PROGRESS and hasn't been updated for > 1 hour.
+     * Only one node runs it per interval.
      */
     @Scheduled(fixedRate = 900000) // 15 minutes = 900,000 ms
-    @Transactional
     public void cleanupAbandonedSessions() {
+        jobLeaseService.runExclusively("interview-cleanup", Duration.ofMinutes(14), this::markAbandonedSessions);
+    }
+
+    private void markAbandonedSessions() {
         log.info("Starting cleanup of abandoned interview sessions...");
 
         LocalDateTime cutoffTime = LocalDateTime.now().minusHours(1);
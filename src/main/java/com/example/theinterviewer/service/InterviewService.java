@@ -1,7 +1,12 @@
 package com.example.theinterviewer.service;
 
+import com.example.theinterviewer.dto.common.CursorPage;
+import com.example.theinterviewer.dto.common.KeysetCursor;
 import com.example.theinterviewer.dto.interview.*;
 import com.example.theinterviewer.entity.*;
+import com.example.theinterviewer.event.InterviewCompleted;
+import com.example.theinterviewer.event.InterviewReportRescored;
+import com.example.theinterviewer.event.InterviewStarted;
 import com.example.theinterviewer.exception.AiServiceException;
 import com.example.theinterviewer.exception.ResourceNotFoundException;
 import com.example.theinterviewer.repository.InterviewProfileRepository;
@@ -9,36 +14,56 @@ import com.example.theinterviewer.repository.InterviewQuestionRepository;
 import com.example.theinterviewer.repository.InterviewReportRepository;
 import com.example.theinterviewer.repository.InterviewSessionRepository;
 import com.example.theinterviewer.repository.ResumeAnalysisRepository;
+import com.example.theinterviewer.repository.ResumeContentRepository;
 import com.example.theinterviewer.repository.ResumeRepository;
 import com.example.theinterviewer.repository.UserRepository;
+import com.example.theinterviewer.repository.UserStatsRepository;
 import com.example.theinterviewer.service.ai.AiResponseParser;
 import com.example.theinterviewer.service.ai.GroqClient;
 import com.example.theinterviewer.service.ai.PromptTemplateService;
+import com.example.theinterviewer.service.ai.QuestionSimilarityIndex;
+import com.example.theinterviewer.service.ai.ResumeSectionSegmenter;
+import com.example.theinterviewer.service.leaderboard.ScoreLeaderboard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class InterviewService {
 
+    private static final int INTERVIEW_CREDITS = 25;
+
     private final InterviewProfileRepository profileRepository;
     private final InterviewSessionRepository sessionRepository;
     private final InterviewQuestionRepository questionRepository;
     private final InterviewReportRepository reportRepository;
     private final ResumeRepository resumeRepository;
     private final ResumeAnalysisRepository resumeAnalysisRepository;
+    private final ResumeContentRepository resumeContentRepository;
     private final GroqClient groqClient;
     private final AiResponseParser aiResponseParser;
     private final PromptTemplateService promptTemplateService;
+    private final QuestionSimilarityIndex questionSimilarityIndex;
+    private final ResumeSectionSegmenter resumeSectionSegmenter;
+    private final ScoreLeaderboard scoreLeaderboard;
     private final CreditService creditService;
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @SuppressWarnings("null")
     @Transactional
@@ -55,9 +80,9 @@ public class InterviewService {
 
         // Fallback: Get latest resume
         if (resume == null || !resume.getUserId().equals(userId)) {
-            List<Resume> userResumes = resumeRepository.findByUserIdOrderByUploadedAtDesc(userId);
-            if (!userResumes.isEmpty()) {
-                resume = userResumes.get(0);
+            Optional<Resume> latestResume = resumeRepository.findFirstByUserIdOrderByUploadedAtDesc(userId);
+            if (latestResume.isPresent()) {
+                resume = latestResume.get();
             } else {
                 // No resume found - handle gracefully by not throwing error yet,
                 // or throw if critical. Assuming we CAN proceed without resume for now
@@ -88,12 +113,6 @@ public class InterviewService {
     public InterviewSessionResponse startInterview(Long userId, Long profileId) {
         log.info("Starting interview for user: {} with profile: {}", userId, profileId);
 
-        // STEP 1: Check and deduct credits BEFORE anything else
-        if (!creditService.hasEnoughCredits(userId, 25)) {
-            throw new CreditService.InsufficientCreditsException(
-                    "Insufficient credits. You need 25 credits to start an interview.");
-        }
-
         // Get profile
         InterviewProfile profile = profileRepository.findById(profileId)
                 .orElseThrow(() -> new ResourceNotFoundException("Interview profile not found"));
@@ -109,14 +128,19 @@ public class InterviewService {
         }
 
         if (resume == null) {
-            List<Resume> userResumes = resumeRepository.findByUserIdOrderByUploadedAtDesc(userId);
-            if (!userResumes.isEmpty()) {
-                resume = userResumes.get(0);
-            } else {
+            resume = resumeRepository.findFirstByUserIdOrderByUploadedAtDesc(userId)
+                    .orElse(null);
+            if (resume == null) {
                 throw new ResourceNotFoundException("No resume found. Please upload a resume first.");
             }
         }
 
+        // Hold the credits in their own short transaction, so the users row isn't
+        // locked while questions are generated; an insufficient balance fails here
+        CreditHold hold = creditService.hold(userId, INTERVIEW_CREDITS,
+                "Interview: " + (profile.getCurrentRole() != null ? profile.getCurrentRole() : "General Interview"));
+        releaseUnlessCommitted(hold);
+
         // Create interview session
         InterviewSession session = new InterviewSession();
         session.setUserId(userId);
@@ -126,40 +150,21 @@ public class InterviewService {
 
         session = sessionRepository.save(session);
 
-        // STEP 2: Deduct credits AFTER session is created (so we can link transaction)
-        try {
-            creditService.deductCredits(
-                    userId,
-                    25,
-                    com.example.theinterviewer.entity.CreditTransaction.TransactionType.INTERVIEW_DEDUCTION,
-                    "Interview: " + (profile.getCurrentRole() != null ? profile.getCurrentRole() : "General Interview"),
-                    session);
-
-            // Increment free interviews used
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
-            user.setFreeInterviewsUsed(user.getFreeInterviewsUsed() + 1);
-            userRepository.save(user);
-
-            log.info("Credits deducted successfully for user: {}", userId);
-        } catch (Exception e) {
-            // If credit deduction fails, delete the session and rollback
-            log.error("Failed to deduct credits, rolling back session creation", e);
-            sessionRepository.delete(session);
-            throw e;
-        }
-
         // Generate Round 1 (HR) questions
         try {
             generateQuestionsForRound(session, profile, resume, InterviewQuestion.RoundType.HR);
         } catch (Exception e) {
             log.error("Failed to generate HR questions for session {}: {}", session.getId(), e.getMessage(), e);
-            // Delete the session since we couldn't generate questions
-            // Credits will be rolled back automatically due to @Transactional
-            sessionRepository.delete(session);
+            // The session rolls back with this transaction and the hold is released
             throw new AiServiceException("Failed to generate interview questions: " + e.getMessage());
         }
 
+        creditService.capture(hold, session);
+        userRepository.incrementFreeInterviewsUsed(userId);
+        // After generation, so the user_stats row isn't locked for the length of the AI call
+        userStatsRepository.recordInterviewStarted(userId);
+        eventPublisher.publishEvent(new InterviewStarted(userId, session.getId()));
+
         log.info("Interview session started with ID: {}", session.getId());
 
         return new InterviewSessionResponse(
@@ -169,6 +174,21 @@ public class InterviewService {
                 "HR");
     }
 
+    /**
+     * Releases the hold once this transaction has rolled back. Releasing any
+     * earlier could wait on this transaction's own locks on the user row.
+     */
+    private void releaseUnlessCommitted(CreditHold hold) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    creditService.release(hold);
+                }
+            }
+        });
+    }
+
     @Transactional
     public QuestionResponse getNextQuestion(Long sessionId, Long userId) {
         // Verify session belongs to user
@@ -225,8 +245,8 @@ public class InterviewService {
         Resume resume = resumeRepository.findById(session.getResumeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Resume not found"));
 
-        String context = promptTemplateService.buildInterviewContext(profile, resume.getParsedText(),
-                profile.getRecentProjects());
+        String context = promptTemplateService.buildInterviewContext(profile, resumeSections(resume),
+                profile.getRecentProjects(), null);
 
         // AI evaluation with graceful error handling
         int score = 0;
@@ -355,18 +375,10 @@ public class InterviewService {
         Resume resume = resumeRepository.findById(session.getResumeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Resume not found"));
 
-        String context = promptTemplateService.buildInterviewContext(profile, resume.getParsedText(),
-                profile.getRecentProjects());
-
-        StringBuilder interviewData = new StringBuilder();
-        for (InterviewQuestion q : allQuestions) {
-            interviewData.append("Question: ").append(q.getQuestionText()).append("\n");
-            interviewData.append("Answer: ").append(q.getUserAnswer()).append("\n");
-            interviewData.append("Score: ").append(q.getScore()).append("/10\n");
-            interviewData.append("Feedback: ").append(q.getAiFeedback()).append("\n\n");
-        }
+        String context = promptTemplateService.buildInterviewContext(profile, resumeSections(resume),
+                profile.getRecentProjects(), null);
 
-        String summaryJson = groqClient.generateFinalReport(context, interviewData.toString(), userId, sessionId);
+        String summaryJson = groqClient.generateFinalReport(context, allQuestions, userId, sessionId);
 
         // Use AiResponseParser to properly extract and sanitize JSON
         // This handles markdown code blocks AND unescaped control characters
@@ -382,7 +394,11 @@ public class InterviewService {
             report.setSummary(summaryJson); // If parsing fails, just save the raw text
         }
 
+        Double previousLatestScore = scoreLeaderboard.latestScore(userId);
         report = reportRepository.save(report);
+        userStatsRepository.recordInterviewCompleted(userId, report.getOverallScore());
+        eventPublisher.publishEvent(new InterviewCompleted(userId, sessionId, report.getOverallScore()));
+        scoreLeaderboard.refresh(userId, previousLatestScore);
 
         log.info("Interview completed with overall score: {}", report.getOverallScore());
 
@@ -438,7 +454,11 @@ public class InterviewService {
                 else
                     report.setFinalVerdict(InterviewReport.FinalVerdict.NEEDS_IMPROVEMENT);
 
+                Double previousLatestScore = scoreLeaderboard.latestScore(userId);
                 report = reportRepository.save(report);
+                userStatsRepository.refreshInterviewScores(userId);
+                eventPublisher.publishEvent(new InterviewReportRescored(userId, sessionId, overallScore));
+                scoreLeaderboard.refresh(userId, previousLatestScore);
             }
         }
 
@@ -465,20 +485,38 @@ public class InterviewService {
         log.info("Interview session {} marked as ABANDONED", sessionId);
     }
 
-    public List<InterviewSession> getUserInterviews(Long userId) {
-        return sessionRepository.findByUserIdOrderByStartedAtDesc(userId);
+    public CursorPage<InterviewSummaryResponse> getUserInterviews(Long userId, String cursor, Integer limit) {
+        int size = KeysetCursor.clampLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest fetch = PageRequest.of(0, size + 1);
+        List<InterviewSession> sessions = after == null
+                ? sessionRepository.findPage(userId, fetch)
+                : sessionRepository.findPageAfter(userId, after.timestamp(), after.id(), fetch);
+        return KeysetCursor.page(sessions, size, session -> new KeysetCursor(session.getStartedAt(), session.getId()),
+                session -> new InterviewSummaryResponse(
+                        session.getId(),
+                        session.getResumeId(),
+                        session.getSessionStatus().name(),
+                        session.getStartedAt(),
+                        session.getEndedAt()));
+    }
+
+    private Map<ResumeContent.Section, String> resumeSections(Resume resume) {
+        return resumeContentRepository.findById(resume.contentKey())
+                .map(resumeSectionSegmenter::sections)
+                .orElse(Map.of());
     }
 
     private void generateQuestionsForRound(InterviewSession session, InterviewProfile profile,
             Resume resume, InterviewQuestion.RoundType roundType) {
-        String context = promptTemplateService.buildInterviewContext(profile, resume.getParsedText(),
-                profile.getRecentProjects());
+        String context = promptTemplateService.buildInterviewContext(profile, resumeSections(resume),
+                profile.getRecentProjects(), roundType);
         String prompt;
 
         switch (roundType) {
             case HR -> prompt = promptTemplateService.buildHRQuestionPrompt(context);
             case TECHNICAL -> prompt = promptTemplateService.buildTechnicalQuestionPrompt(context);
-            case PROJECT -> prompt = promptTemplateService.buildProjectQuestionPrompt(context, resume.getParsedText());
+            case PROJECT -> prompt = promptTemplateService.buildProjectQuestionPrompt(context);
             default -> throw new IllegalArgumentException("Invalid round type");
         }
 
@@ -486,27 +524,62 @@ public class InterviewService {
         // No fallback questions - AI must always generate proper questions
         String aiResponse = groqClient.sendPrompt(prompt, session.getUserId(), session.getId(),
                 com.example.theinterviewer.entity.AiUsageLog.Module.INTERVIEW);
-        List<String> questions = aiResponseParser.parseQuestions(aiResponse);
+        List<String> generated = aiResponseParser.parseQuestions(aiResponse);
+
+        // Drop questions the candidate has (nearly) seen before and regenerate only the missing slots
+        List<String> questions = questionSimilarityIndex.filterFresh(session.getUserId(), generated);
+        int missing = generated.size() - questions.size();
+        if (missing > 0) {
+            log.info("Filtered {} near-duplicate {} questions, regenerating missing slots", missing, roundType);
+            try {
+                List<String> avoid = new ArrayList<>(generated);
+                avoid.removeAll(questions);
+                String replacementPrompt = promptTemplateService.buildReplacementQuestionPrompt(prompt, missing,
+                        avoid);
+                String replacementResponse = groqClient.sendPrompt(replacementPrompt, session.getUserId(),
+                        session.getId(), com.example.theinterviewer.entity.AiUsageLog.Module.INTERVIEW);
+                List<String> candidates = new ArrayList<>(questions);
+                candidates.addAll(aiResponseParser.parseQuestions(replacementResponse));
+                questions = questionSimilarityIndex.filterFresh(session.getUserId(), candidates);
+            } catch (Exception e) {
+                log.warn("Failed to regenerate replacement questions: {}", e.getMessage());
+            }
+
+            // Never leave the round short - top up with the original questions if needed
+            for (String original : generated) {
+                if (questions.size() >= generated.size()) {
+                    break;
+                }
+                if (!questions.contains(original)) {
+                    questions.add(original);
+                }
+            }
+            if (questions.size() > generated.size()) {
+                questions = questions.subList(0, generated.size());
+            }
+        }
 
+        // Persist the whole round with saveAll so Hibernate flushes it as one JDBC batch
+        List<InterviewQuestion> roundQuestions = new ArrayList<>(questions.size());
         for (String questionText : questions) {
             InterviewQuestion question = new InterviewQuestion();
             question.setSessionId(session.getId());
             question.setRoundType(roundType);
             question.setQuestionText(questionText);
-            questionRepository.save(question);
+            roundQuestions.add(question);
         }
+        questionRepository.saveAll(roundQuestions);
+        questionSimilarityIndex.record(session.getUserId(), questions);
 
         log.info("Generated {} questions for {} round", questions.size(), roundType);
     }
 
     private void generateNextRoundIfNeeded(InterviewSession session, InterviewProfile profile, Resume resume) {
-        List<InterviewQuestion> allQuestions = questionRepository.findBySessionId(session.getId());
+        List<InterviewQuestion.RoundType> rounds = questionRepository.findRoundTypesBySessionId(session.getId());
 
-        boolean hasHR = allQuestions.stream().anyMatch(q -> q.getRoundType() == InterviewQuestion.RoundType.HR);
-        boolean hasTechnical = allQuestions.stream()
-                .anyMatch(q -> q.getRoundType() == InterviewQuestion.RoundType.TECHNICAL);
-        boolean hasProject = allQuestions.stream()
-                .anyMatch(q -> q.getRoundType() == InterviewQuestion.RoundType.PROJECT);
+        boolean hasHR = rounds.contains(InterviewQuestion.RoundType.HR);
+        boolean hasTechnical = rounds.contains(InterviewQuestion.RoundType.TECHNICAL);
+        boolean hasProject = rounds.contains(InterviewQuestion.RoundType.PROJECT);
 
         log.debug("Round status - HR: {}, Technical: {}, Project: {}", hasHR, hasTechnical, hasProject);
 
@@ -0,0 +1,125 @@
+package com.example.theinterviewer.service;
+
+import com.example.theinterviewer.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a scheduled job on at most one node per tick. The node that takes the
+ * job's row in job_leases runs it; the rest skip. The lease is renewed while the
+ * job runs, so a long run keeps it, and a node that dies stops renewing and
+ * loses it after one lease period.
+ */
+@Service
+@Slf4j
+public class JobLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final MeterRegistry meterRegistry;
+    private final long leaseMs;
+
+    private final String owner = ownerId();
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "job-lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobLeaseService(JobLeaseRepository jobLeaseRepository, MeterRegistry meterRegistry,
+            @Value("${scheduling.lease.duration-ms:120000}") long leaseMs) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.meterRegistry = meterRegistry;
+        this.leaseMs = leaseMs;
+    }
+
+    /**
+     * Runs {@code task} if this node gets the lease for {@code jobName}.
+     *
+     * @param holdAtLeast how long other nodes keep skipping after a run starts,
+     *                    normally a little under the job's interval so that
+     *                    nodes ticking out of phase don't repeat the run
+     * @return whether the task ran here
+     */
+    public boolean runExclusively(String jobName, Duration holdAtLeast, Runnable task) {
+        if (!acquire(jobName)) {
+            Counter.builder("scheduled.job.skipped").tag("job", jobName).register(meterRegistry).increment();
+            log.debug("Skipping {}: lease held by another node", jobName);
+            return false;
+        }
+
+        long renewEveryMs = Math.max(1000, leaseMs / 3);
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(() -> renew(jobName), renewEveryMs, renewEveryMs,
+                TimeUnit.MILLISECONDS);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            task.run();
+            return true;
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("scheduled.job.duration").tag("job", jobName).tag("outcome", outcome)
+                    .register(meterRegistry));
+            renewal.cancel(false);
+            try {
+                jobLeaseRepository.release(jobName, owner, holdAtLeast.toMillis());
+            } catch (Exception e) {
+                // It lapses on its own after the lease period
+                log.warn("Failed to release lease for {}: {}", jobName, e.getMessage());
+            }
+        }
+    }
+
+    private boolean acquire(String jobName) {
+        try {
+            return jobLeaseRepository.insertIfAbsent(jobName, owner, leaseMs) > 0
+                    || jobLeaseRepository.takeOver(jobName, owner, leaseMs) > 0;
+        } catch (Exception e) {
+            // Without the lease table nobody can tell who runs the job, so skip rather than risk a double run
+            log.warn("Could not acquire lease for {}: {}", jobName, e.getMessage());
+            return false;
+        }
+    }
+
+    private void renew(String jobName) {
+        try {
+            if (jobLeaseRepository.renew(jobName, owner, leaseMs) == 0) {
+                // Another node took over after a missed renewal; this run can't be stopped, only reported
+                Counter.builder("scheduled.job.lease.lost").tag("job", jobName).register(meterRegistry).increment();
+                log.warn("Lost lease for {} while it was still running", jobName);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to renew lease for {}: {}", jobName, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    private static String ownerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        String id = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return id.length() > 100 ? id.substring(id.length() - 100) : id;
+    }
+}
@@ -1,52 +1,66 @@
 package com.example.theinterviewer.service;
 
-import com.example.theinterviewer.entity.Payment;
 import com.example.theinterviewer.repository.PaymentRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Service to clean up expired/stale payments
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PaymentCleanupService {
 
     private final PaymentRepository paymentRepository;
+    private final JobLeaseService jobLeaseService;
+    private final int batchSize;
+    private final DistributionSummary expiredPerRun;
+
+    public PaymentCleanupService(PaymentRepository paymentRepository, JobLeaseService jobLeaseService,
+            MeterRegistry meterRegistry, @Value("${payments.cleanup.batch-size:500}") int batchSize) {
+        this.paymentRepository = paymentRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.batchSize = batchSize;
+        this.expiredPerRun = DistributionSummary.builder("payments.cleanup.expired")
+                .description("Pending payments marked FAILED per cleanup run")
+                .baseUnit("payments")
+                .register(meterRegistry);
+    }
 
     /**
      * Runs every 30 minutes to mark expired pending payments as FAILED
-     * Payments older than 15 minutes in CREATED status are expired
+     * Payments older than 15 minutes in CREATED status are expired. Updates run in
+     * chunks through the (status, created_at) index, so the cost follows the number
+     * of stale payments rather than the size of the table.
      */
     @Scheduled(fixedDelay = 1800000) // 30 minutes
-    @Transactional
     public void expirePendingPayments() {
+        jobLeaseService.runExclusively("payment-cleanup", Duration.ofMinutes(29), this::expireStalePayments);
+    }
+
+    private void expireStalePayments() {
         log.info("Starting cleanup of expired pending payments...");
 
         LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(15);
 
-        // Find all CREATED payments older than 15 minutes
-        List<Payment> expiredPayments = paymentRepository.findAll().stream()
-                .filter(p -> p.getStatus() == Payment.PaymentStatus.CREATED)
-                .filter(p -> p.getCreatedAt().isBefore(cutoffTime))
-                .toList();
-
-        if (!expiredPayments.isEmpty()) {
-            for (Payment payment : expiredPayments) {
-                payment.setStatus(Payment.PaymentStatus.FAILED);
-                paymentRepository.save(payment);
-                log.info("Expired payment order: {} (created at {})",
-                        payment.getRazorpayOrderId(),
-                        payment.getCreatedAt());
-            }
-            log.info("Marked {} payments as FAILED (expired after 15 minutes)", expiredPayments.size());
+        int expired = 0;
+        int chunk;
+        do {
+            chunk = paymentRepository.expireCreatedBefore(cutoffTime, batchSize);
+            expired += chunk;
+        } while (chunk == batchSize);
+
+        expiredPerRun.record(expired);
+
+        if (expired > 0) {
+            log.info("Marked {} payments as FAILED (expired after 15 minutes)", expired);
         } else {
             log.info("No expired payments found.");
         }
@@ -5,8 +5,10 @@ import com.example.theinterviewer.dto.payment.PaymentVerificationResponse;
 import com.example.theinterviewer.entity.CreditTransaction;
 import com.example.theinterviewer.entity.Payment;
 import com.example.theinterviewer.entity.User;
+import com.example.theinterviewer.entity.WebhookEvent;
 import com.example.theinterviewer.repository.PaymentRepository;
 import com.example.theinterviewer.repository.UserRepository;
+import com.example.theinterviewer.repository.WebhookEventRepository;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
@@ -34,6 +36,7 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
     private final CreditService creditService;
+    private final WebhookEventRepository webhookEventRepository;
 
     @Value("${razorpay.key.id}")
     private String razorpayKeyId;
@@ -141,31 +144,32 @@ public class PaymentService {
             throw new SecurityException("Invalid payment signature");
         }
 
-        // 5. Update payment record
-        payment.setRazorpayPaymentId(paymentId);
-        payment.setRazorpaySignature(signature);
-        payment.setStatus(Payment.PaymentStatus.SUCCESS);
-        payment.setCompletedAt(LocalDateTime.now());
-        paymentRepository.save(payment);
+        // 5. Mark the payment paid. Conditional, so only one of /verify and the
+        // webhook processor gets to add the credits
+        if (paymentRepository.markSucceeded(payment.getId(), paymentId, signature, LocalDateTime.now()) == 0) {
+            log.warn("Payment already processed: {}", orderId);
+            return new PaymentVerificationResponse(
+                    true,
+                    "Payment already processed",
+                    payment.getCreditsAdded(),
+                    userRepository.findCreditsById(payment.getUser().getId()).orElse(0));
+        }
 
         // 6. Add credits to user account
-        creditService.addCredits(
+        int newBalance = creditService.addCredits(
                 payment.getUser().getId(),
                 payment.getCreditsAdded(),
                 CreditTransaction.TransactionType.PURCHASE,
                 "Credit purchase via Razorpay - Order: " + orderId,
                 payment);
 
-        User user = userRepository.findById(payment.getUser().getId())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
         log.info("Payment verified and credits added successfully");
 
         return new PaymentVerificationResponse(
                 true,
                 "Payment successful",
                 payment.getCreditsAdded(),
-                user.getCredits());
+                newBalance);
     }
 
     /**
@@ -212,9 +216,12 @@ public class PaymentService {
 
     /**
      * Handle Razorpay webhook (for payment status updates)
+     * Only verifies and stores the event; WebhookInboxProcessor applies it, so
+     * Razorpay gets its acknowledgement without waiting on credit updates.
+     *
+     * @return false for a redelivery of an event already in the inbox
      */
-    @Transactional
-    public void handleWebhook(String payload, String webhookSignature) {
+    public boolean handleWebhook(String payload, String webhookSignature, String eventId) {
         log.info("Received Razorpay webhook");
 
         // Verify webhook signature
@@ -223,39 +230,84 @@ public class PaymentService {
             throw new SecurityException("Invalid webhook signature");
         }
 
-        // Process webhook payload
         JSONObject event = new JSONObject(payload);
         String eventType = event.getString("event");
+        String id = eventId != null && !eventId.isBlank() ? eventId : sha256(payload);
+
+        boolean stored = webhookEventRepository.insertIfAbsent(id, eventType, orderId(event), payload,
+                LocalDateTime.now()) > 0;
+        log.info("Webhook event {} ({}) {}", id, eventType, stored ? "queued" : "already received");
+        return stored;
+    }
+
+    /**
+     * Applies one stored webhook event. Safe to repeat: every payment change is
+     * conditional on the payment's current status.
+     */
+    @Transactional
+    public void applyWebhookEvent(WebhookEvent webhookEvent) {
+        JSONObject event = new JSONObject(webhookEvent.getPayload());
+        String eventType = webhookEvent.getEventType();
+        String orderId = webhookEvent.getOrderId();
 
         log.info("Processing webhook event: {}", eventType);
 
         if ("payment.captured".equals(eventType)) {
-            JSONObject paymentData = event.getJSONObject("payload")
+            String paymentId = event.getJSONObject("payload")
                     .getJSONObject("payment")
-                    .getJSONObject("entity");
-
-            String paymentId = paymentData.getString("id");
-            String orderId = paymentData.getString("order_id");
-
-            // Find and update payment
-            paymentRepository.findByRazorpayOrderId(orderId).ifPresent(payment -> {
-                if (payment.getStatus() != Payment.PaymentStatus.SUCCESS) {
-                    payment.setRazorpayPaymentId(paymentId);
-                    payment.setStatus(Payment.PaymentStatus.SUCCESS);
-                    payment.setCompletedAt(LocalDateTime.now());
-                    paymentRepository.save(payment);
-
-                    // Add credits
-                    creditService.addCredits(
-                            payment.getUser().getId(),
-                            payment.getCreditsAdded(),
-                            CreditTransaction.TransactionType.PURCHASE,
-                            "Credit purchase via webhook - Order: " + orderId,
-                            payment);
-
-                    log.info("Webhook processed successfully for order: {}", orderId);
-                }
-            });
+                    .getJSONObject("entity")
+                    .getString("id");
+
+            Payment payment = paymentRepository.findByRazorpayOrderId(orderId).orElse(null);
+            if (payment == null) {
+                log.warn("Webhook for unknown order: {}", orderId);
+                return;
+            }
+            if (paymentRepository.markSucceeded(payment.getId(), paymentId, null, LocalDateTime.now()) == 0) {
+                return;
+            }
+
+            // Add credits
+            creditService.addCredits(
+                    payment.getUser().getId(),
+                    payment.getCreditsAdded(),
+                    CreditTransaction.TransactionType.PURCHASE,
+                    "Credit purchase via webhook - Order: " + orderId,
+                    payment);
+
+            log.info("Webhook processed successfully for order: {}", orderId);
+        } else if ("payment.failed".equals(eventType) && orderId != null) {
+            if (paymentRepository.markFailedIfCreated(orderId) > 0) {
+                log.info("Payment for order {} marked FAILED by webhook", orderId);
+            }
+        }
+    }
+
+    private static String orderId(JSONObject event) {
+        JSONObject payload = event.optJSONObject("payload");
+        if (payload == null) {
+            return null;
+        }
+        JSONObject payment = payload.optJSONObject("payment");
+        if (payment != null && payment.optJSONObject("entity") != null) {
+            return payment.getJSONObject("entity").optString("order_id", null);
+        }
+        JSONObject order = payload.optJSONObject("order");
+        if (order != null && order.optJSONObject("entity") != null) {
+            return order.getJSONObject("entity").optString("id", null);
+        }
+        return null;
+    }
+
+    /**
+     * Stand-in event id when the delivery has no X-Razorpay-Event-Id header
+     */
+    private String sha256(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return bytesToHex(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
         }
     }
 
@@ -0,0 +1,64 @@
+package com.example.theinterviewer.service;
+
+import com.example.theinterviewer.entity.Resume;
+import com.example.theinterviewer.repository.ResumeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeIngestionCleanupService {
+
+    private final ResumeRepository resumeRepository;
+    private final ResumeService resumeService;
+    private final ResumeIngestionService resumeIngestionService;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${resume.ingestion.stale-pending-minutes:10}")
+    private long stalePendingMinutes;
+
+    @Value("${resume.ingestion.parse-timeout-seconds:30}")
+    private long parseTimeoutSeconds;
+
+    /**
+     * Recovers resumes whose parse lived only in a node's memory when it stopped:
+     * PENDING rows are queued again and PARSING rows well past the parse timeout
+     * are failed. The first run is shortly after startup.
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 60000) // 5 minutes
+    public void recoverStaleResumes() {
+        jobLeaseService.runExclusively("resume-ingestion-cleanup", Duration.ofMinutes(4), this::recover);
+    }
+
+    private void recover() {
+        // Twice the timeout, so the watchdog on a live node always gets there first
+        int failed = resumeRepository.failParsingStartedBefore(
+                LocalDateTime.now().minusSeconds(parseTimeoutSeconds * 2), "Parsing was interrupted");
+        if (failed > 0) {
+            log.warn("Failed {} resumes left in PARSING by a stopped node", failed);
+        }
+
+        int capacity = resumeIngestionService.remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Resume> stale = resumeRepository.findByProcessingStatusAndUploadedAtBeforeOrderByIdAsc(
+                Resume.ProcessingStatus.PENDING, LocalDateTime.now().minusMinutes(stalePendingMinutes),
+                PageRequest.of(0, capacity));
+        for (Resume resume : stale) {
+            resumeService.requeue(resume);
+        }
+        if (!stale.isEmpty()) {
+            log.info("Re-queued {} resumes left PENDING by a stopped node", stale.size());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.theinterviewer.service;
+
+import com.example.theinterviewer.config.SchedulingConfig;
+import com.example.theinterviewer.entity.ResumeContent;
+import com.example.theinterviewer.exception.ServiceBusyException;
+import com.example.theinterviewer.repository.ResumeContentRepository;
+import com.example.theinterviewer.repository.ResumeRepository;
+import com.example.theinterviewer.service.ai.ResumeSectionSegmenter;
+import com.example.theinterviewer.service.storage.BlobStorage;
+import com.example.theinterviewer.service.storage.ContentHashUtils;
+import com.example.theinterviewer.service.storage.FileParsingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Parses uploaded resumes off the request thread.
+ * Upload persists the raw file and a PENDING resume row; this service then
+ * parses it on a bounded worker pool with a per-document timeout and moves the
+ * row to PARSED or FAILED.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeIngestionService {
+
+    private final ResumeRepository resumeRepository;
+    private final ResumeContentRepository resumeContentRepository;
+    private final FileParsingService fileParsingService;
+    private final BlobStorage blobStorage;
+    private final ResumeSectionSegmenter resumeSectionSegmenter;
+    @Qualifier(SchedulingConfig.TASK_SCHEDULER)
+    private final TaskScheduler taskScheduler;
+
+    @Value("${resume.ingestion.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${resume.ingestion.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${resume.ingestion.parse-timeout-seconds:30}")
+    private long parseTimeoutSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workerThreads,
+                workerThreads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "resume-ingest-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Resume ingestion pool started: {} workers, queue capacity {}, timeout {}s",
+                workerThreads, queueCapacity, parseTimeoutSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a stored resume for parsing.
+     *
+     * @param onParsed optional callback run on the worker thread once parsing succeeds
+     * @throws ServiceBusyException if the ingestion queue is full
+     */
+    public void submit(Long resumeId, String fileName, String storageKey, Consumer<Long> onParsed) {
+        Future<?> future;
+        try {
+            future = executor.submit(() -> ingest(resumeId, fileName, storageKey, onParsed));
+        } catch (RejectedExecutionException e) {
+            log.warn("Resume ingestion queue full, rejecting resume {}", resumeId);
+            resumeRepository.markFailed(resumeId, "Server is busy processing other resumes. Please try again.");
+            throw new ServiceBusyException("Resume processing queue is full. Please try again shortly.");
+        }
+
+        // Watchdog: interrupt and fail documents that take too long to parse
+        taskScheduler.schedule(() -> {
+            if (!future.isDone()) {
+                future.cancel(true);
+                if (resumeRepository.markFailed(resumeId, "Parsing timed out") > 0) {
+                    log.warn("Parsing resume {} timed out after {}s", resumeId, parseTimeoutSeconds);
+                }
+            }
+        }, Instant.now().plus(Duration.ofSeconds(parseTimeoutSeconds)));
+    }
+
+    /**
+     * Free slots in the worker queue, so a recovery sweep can re-queue without
+     * tripping the busy rejection
+     */
+    public int remainingCapacity() {
+        return executor.getQueue().remainingCapacity();
+    }
+
+    private void ingest(Long resumeId, String fileName, String storageKey, Consumer<Long> onParsed) {
+        if (resumeRepository.markParsing(resumeId) == 0) {
+            log.debug("Resume {} is no longer pending, skipping", resumeId);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        String parsedText;
+        try {
+            Optional<Path> localFile = blobStorage.localFile(storageKey);
+            if (localFile.isPresent()) {
+                parsedText = fileParsingService.parseResume(localFile.get(), fileName);
+            } else {
+                try (InputStream content = blobStorage.open(storageKey)) {
+                    parsedText = fileParsingService.parseResume(content, fileName);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to parse resume {}: {}", resumeId, e.getMessage());
+            resumeRepository.markFailed(resumeId, truncate(e.getMessage()));
+            return;
+        }
+
+        if (Thread.currentThread().isInterrupted()) {
+            log.debug("Discarding late parse result for resume {}", resumeId);
+            return;
+        }
+
+        // Text first, so a PARSED resume always has its content row; sections are found once, here
+        resumeContentRepository.save(new ResumeContent(resumeId, parsedText,
+                resumeSectionSegmenter.segment(parsedText)));
+        if (resumeRepository.markParsed(resumeId, ContentHashUtils.textHash(parsedText)) == 0) {
+            log.debug("Discarding late parse result for resume {}", resumeId);
+            resumeContentRepository.deleteById(resumeId);
+            return;
+        }
+
+        log.info("Resume {} parsed in {}ms", resumeId, System.currentTimeMillis() - startTime);
+
+        if (onParsed != null) {
+            try {
+                onParsed.accept(resumeId);
+            } catch (Exception e) {
+                log.error("Post-parse step failed for resume {}: {}", resumeId, e.getMessage());
+            }
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return "Failed to parse file";
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
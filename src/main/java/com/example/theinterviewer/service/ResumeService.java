@@ -1,26 +1,40 @@
 package com.example.theinterviewer.service;
 
 import com.example.theinterviewer.dto.resume.ResumeAnalysisResponse;
+import com.example.theinterviewer.dto.resume.ResumeStatusResponse;
+import com.example.theinterviewer.dto.resume.ResumeSummaryResponse;
 import com.example.theinterviewer.dto.resume.ResumeUploadResponse;
 import com.example.theinterviewer.entity.Resume;
 import com.example.theinterviewer.entity.ResumeAnalysis;
+import com.example.theinterviewer.event.ResumeAnalyzed;
 import com.example.theinterviewer.exception.ResourceNotFoundException;
+import com.example.theinterviewer.exception.ResumeNotReadyException;
 import com.example.theinterviewer.repository.ResumeAnalysisRepository;
+import com.example.theinterviewer.repository.ResumeContentRepository;
 import com.example.theinterviewer.repository.ResumeRepository;
+import com.example.theinterviewer.repository.UserStatsRepository;
 import com.example.theinterviewer.service.ai.AiResponseParser;
 import com.example.theinterviewer.service.ai.GroqClient;
-import com.example.theinterviewer.service.storage.FileParsingService;
 import com.example.theinterviewer.service.storage.FileValidationService;
-import com.example.theinterviewer.service.storage.LocalFileStorageService;
+import com.example.theinterviewer.service.storage.BlobStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
@@ -29,47 +43,160 @@ public class ResumeService {
 
     private final ResumeRepository resumeRepository;
     private final ResumeAnalysisRepository resumeAnalysisRepository;
+    private final ResumeContentRepository resumeContentRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final FileValidationService fileValidationService;
-    private final FileParsingService fileParsingService;
-    private final LocalFileStorageService fileStorageService;
+    private final BlobStorage blobStorage;
     private final GroqClient groqClient;
     private final AiResponseParser aiResponseParser;
+    private final ResumeIngestionService resumeIngestionService;
     private final ModelMapper modelMapper;
-
-    @Transactional
+    private final TransactionTemplate transactionTemplate;
+    // Proxied self, so callbacks run on worker threads still get @Transactional
+    private final ObjectProvider<ResumeService> self;
+
+    @Value("${resume.ingestion.auto-analyze:false}")
+    private boolean autoAnalyze;
+
+    /**
+     * Stage 1 of ingestion: validate, persist the raw file and a PENDING resume row,
+     * then hand parsing off to {@link ResumeIngestionService}. Returns immediately;
+     * clients poll {@link #getResumeStatus} until the resume is PARSED.
+     */
     public ResumeUploadResponse uploadResume(Long userId, MultipartFile file) throws IOException {
         log.info("Uploading resume for user: {}", userId);
 
         // Validate file
         fileValidationService.validateFile(file);
 
-        // Parse resume text
-        String parsedText = fileParsingService.parseResume(file);
-
         // Sanitize filename
         String sanitizedFilename = fileValidationService.sanitizeFileName(file.getOriginalFilename());
 
-        // Upload file to storage
-        String fileUrl = fileStorageService.uploadFile(file, sanitizedFilename);
+        // Upload file to storage, hashing the bytes as they stream through
+        BlobStorage.StoredBlob storedFile;
+        try (InputStream content = file.getInputStream()) {
+            storedFile = blobStorage.store(content, file.getSize(), sanitizedFilename);
+        }
 
         // Create new resume entity - always store new entry to track
         // history/improvement
         Resume resume = new Resume();
         resume.setUserId(userId);
         resume.setFileName(sanitizedFilename);
-        resume.setFileUrl(fileUrl);
-        resume.setParsedText(parsedText);
+        resume.setContentHash(storedFile.sha256());
+
+        // Exact re-upload: reuse the stored blob, parsed text and analysis instead of
+        // parsing and paying for another AI analysis
+        Optional<Resume> duplicate = resumeRepository
+                .findFirstByUserIdAndContentHashAndProcessingStatusOrderByUploadedAtDesc(
+                        userId, storedFile.sha256(), Resume.ProcessingStatus.PARSED);
+        if (duplicate.isPresent()) {
+            Resume original = duplicate.get();
+            // A content-addressed key may be shared with other users' resumes, so keep it
+            boolean keepStoredBlob = blobStorage.isContentAddressed();
+            resume.setFileUrl(keepStoredBlob ? storedFile.key() : original.getFileUrl());
+            resume.setTextHash(original.getTextHash());
+            // Point at the original's text rather than copying it
+            resume.setContentId(original.contentKey());
+            resume.setProcessingStatus(Resume.ProcessingStatus.PARSED);
+
+            // One transaction, so a failure can't leave a PARSED resume without its analysis
+            Resume reused = resume;
+            resume = transactionTemplate.execute(status -> {
+                Resume saved = resumeRepository.save(reused);
+                resumeAnalysisRepository.findByResumeId(original.getId())
+                        .map(source -> copyAnalysis(source, saved.getId(), userId))
+                        .ifPresent(analysis -> {
+                            // Counts as an analysed resume, same as the copy made in analyzeResume
+                            userStatsRepository.recordResumeAnalysed(userId, analysis.getAtsScore());
+                            eventPublisher.publishEvent(
+                                    new ResumeAnalyzed(userId, saved.getId(), analysis.getAtsScore()));
+                        });
+                return saved;
+            });
+            if (!keepStoredBlob) {
+                blobStorage.delete(storedFile.key());
+            }
+
+            log.info("Resume {} is a re-upload of resume {}, reused stored file and analysis",
+                    resume.getId(), original.getId());
+
+            return new ResumeUploadResponse(
+                    resume.getId(),
+                    resume.getFileName(),
+                    resume.getUploadedAt(),
+                    resume.getProcessingStatus().name());
+        }
 
-        log.info("Created new resume version for user: {}", userId);
+        resume.setFileUrl(storedFile.key());
+        resume.setProcessingStatus(Resume.ProcessingStatus.PENDING);
 
         resume = resumeRepository.save(resume);
 
-        log.info("Resume uploaded successfully with ID: {}", resume.getId());
+        log.info("Resume stored with ID: {}, queued for parsing", resume.getId());
+
+        // Stage 2: parse asynchronously (optionally followed by AI analysis)
+        resumeIngestionService.submit(resume.getId(), sanitizedFilename, storedFile.key(), postParseStep(userId));
 
         return new ResumeUploadResponse(
                 resume.getId(),
                 resume.getFileName(),
-                resume.getUploadedAt());
+                resume.getUploadedAt(),
+                resume.getProcessingStatus().name());
+    }
+
+    /**
+     * Queues a PENDING resume for parsing again, e.g. after the node that had it
+     * queued restarted. Parsing starts only from PENDING, so a copy still queued
+     * elsewhere is harmless.
+     */
+    public void requeue(Resume resume) {
+        resumeIngestionService.submit(resume.getId(), resume.getFileName(), resume.getFileUrl(),
+                postParseStep(resume.getUserId()));
+    }
+
+    /**
+     * Runs after a resume is parsed: the AI analysis when auto-analyze is on,
+     * called through the proxy so it gets its own transaction
+     */
+    private Consumer<Long> postParseStep(Long userId) {
+        return autoAnalyze ? id -> self.getObject().analyzeResume(id, userId) : null;
+    }
+
+    public ResumeStatusResponse getResumeStatus(Long resumeId, Long userId) {
+        Resume resume = resumeRepository.findById(resumeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resume not found"));
+
+        if (!resume.getUserId().equals(userId)) {
+            throw new ResourceNotFoundException("Resume not found");
+        }
+
+        Resume.ProcessingStatus status = resume.getProcessingStatus() != null
+                ? resume.getProcessingStatus()
+                : Resume.ProcessingStatus.PARSED;
+
+        return new ResumeStatusResponse(
+                resume.getId(),
+                status.name(),
+                resume.getFailureReason(),
+                resumeAnalysisRepository.findByResumeId(resumeId).isPresent());
+    }
+
+    public ResumeFile getResumeFile(Long resumeId, Long userId) {
+        Resume resume = resumeRepository.findById(resumeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resume not found"));
+
+        if (!resume.getUserId().equals(userId)) {
+            throw new ResourceNotFoundException("Resume not found");
+        }
+
+        Resource resource = blobStorage.asResource(resume.getFileUrl());
+        if (!resource.exists()) {
+            throw new ResourceNotFoundException("Resume file not found");
+        }
+
+        return new ResumeFile(resource, resume.getFileName(), resume.getContentHash());
     }
 
     @Transactional
@@ -85,6 +212,13 @@ public class ResumeService {
             throw new ResourceNotFoundException("Resume not found");
         }
 
+        if (resume.getProcessingStatus() == Resume.ProcessingStatus.FAILED) {
+            throw new ResumeNotReadyException("Resume could not be processed: " + resume.getFailureReason());
+        }
+        if (resume.getProcessingStatus() != null && resume.getProcessingStatus() != Resume.ProcessingStatus.PARSED) {
+            throw new ResumeNotReadyException("Resume is still being processed. Please try again shortly.");
+        }
+
         // Check if analysis already exists
         return resumeAnalysisRepository.findByResumeId(resumeId)
                 .map(this::mapToResponse)
@@ -92,17 +226,37 @@ public class ResumeService {
     }
 
     private ResumeAnalysisResponse performAnalysis(Resume resume) {
+        // Same content (by normalized text hash) already analysed for this user - copy it
+        if (resume.getTextHash() != null) {
+            List<ResumeAnalysis> previous = resumeAnalysisRepository.findByUserIdAndTextHash(
+                    resume.getUserId(), resume.getTextHash(), PageRequest.of(0, 1));
+            if (!previous.isEmpty()) {
+                log.info("Reusing analysis {} for resume {} (matching content hash)",
+                        previous.get(0).getId(), resume.getId());
+                ResumeAnalysis copy = copyAnalysis(previous.get(0), resume.getId(), resume.getUserId());
+                userStatsRepository.recordResumeAnalysed(resume.getUserId(), copy.getAtsScore());
+                eventPublisher.publishEvent(new ResumeAnalyzed(resume.getUserId(), resume.getId(), copy.getAtsScore()));
+                return mapToResponse(copy);
+            }
+        }
+
+        String parsedText = resumeContentRepository.findParsedTextByResumeId(resume.contentKey())
+                .orElseThrow(() -> new ResumeNotReadyException("Resume is still being processed. Please try again shortly."));
+
         // Call AI to analyze resume
-        String aiResponse = groqClient.analyzeResume(resume.getParsedText(), resume.getUserId(), resume.getId());
+        String aiResponse = groqClient.analyzeResume(parsedText, resume.getUserId(), resume.getId());
 
         // Parse AI response
         ResumeAnalysis analysis = aiResponseParser.parseResumeAnalysis(aiResponse);
         analysis.setResumeId(resume.getId());
+        analysis.setUserId(resume.getUserId());
 
         log.info("Analysis parsed: atsScore={}, sections={}", analysis.getAtsScore(), analysis.getMissingSections());
 
         // Save analysis
         analysis = resumeAnalysisRepository.save(analysis);
+        userStatsRepository.recordResumeAnalysed(resume.getUserId(), analysis.getAtsScore());
+        eventPublisher.publishEvent(new ResumeAnalyzed(resume.getUserId(), resume.getId(), analysis.getAtsScore()));
 
         log.info("Resume analysis saved for resume ID: {}", resume.getId());
 
@@ -112,6 +266,21 @@ public class ResumeService {
         return response;
     }
 
+    private ResumeAnalysis copyAnalysis(ResumeAnalysis source, Long resumeId, Long userId) {
+        ResumeAnalysis copy = new ResumeAnalysis();
+        copy.setResumeId(resumeId);
+        copy.setUserId(userId);
+        copy.setAtsScore(source.getAtsScore());
+        copy.setStrengths(source.getStrengths());
+        copy.setWeaknesses(source.getWeaknesses());
+        copy.setMissingSections(source.getMissingSections());
+        copy.setFormatFeedback(source.getFormatFeedback());
+        copy.setContentFeedback(source.getContentFeedback());
+        copy.setImprovementTips(source.getImprovementTips());
+        copy.setOverallSummary(source.getOverallSummary());
+        return resumeAnalysisRepository.save(copy);
+    }
+
     public ResumeAnalysisResponse getResumeAnalysis(Long resumeId, Long userId) {
         Resume resume = resumeRepository.findById(resumeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Resume not found"));
@@ -126,8 +295,8 @@ public class ResumeService {
         return mapToResponse(analysis);
     }
 
-    public List<Resume> getUserResumes(Long userId) {
-        return resumeRepository.findByUserIdOrderByUploadedAtDesc(userId);
+    public List<ResumeSummaryResponse> getUserResumes(Long userId) {
+        return resumeRepository.findSummariesByUserId(userId);
     }
 
     private ResumeAnalysisResponse mapToResponse(ResumeAnalysis analysis) {
@@ -146,4 +315,10 @@ public class ResumeService {
                 analysis.getImprovementTips(),
                 analysis.getOverallSummary());
     }
+
+    /**
+     * @param contentHash SHA-256 of the stored bytes, used as the ETag; null for older uploads
+     */
+    public record ResumeFile(Resource resource, String fileName, String contentHash) {
+    }
 }
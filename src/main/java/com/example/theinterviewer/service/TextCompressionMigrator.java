@@ -0,0 +1,134 @@
+package com.example.theinterviewer.service;
+
+import com.example.theinterviewer.entity.DataMigrationProgress;
+import com.example.theinterviewer.entity.converter.CompressedTextConverter;
+import com.example.theinterviewer.repository.DataMigrationProgressRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compresses text rows written before {@link CompressedTextConverter} existed.
+ * Walks each column by primary key a chunk at a time, so no run holds a long
+ * transaction or loads much into memory, and stops once every column is done.
+ * Progress is kept in data_migration_progress.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TextCompressionMigrator {
+
+    private static final List<Target> TARGETS = List.of(
+            new Target("resume_contents", "resume_id", "parsed_text"),
+            new Target("interview_questions", "id", "user_answer"),
+            new Target("interview_questions", "id", "ai_feedback"),
+            new Target("interview_report", "id", "summary"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseService jobLeaseService;
+    private final DataMigrationProgressRepository progressRepository;
+
+    @Value("${storage.compression.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.compression.migration.chunk-size:200}")
+    private int chunkSize;
+
+    // Set once every target is recorded as completed; completion is permanent
+    private volatile boolean finished;
+
+    @Scheduled(fixedDelayString = "${storage.compression.migration.interval-ms:10000}", initialDelay = 60000)
+    public void migrateChunk() {
+        if (!enabled || finished) {
+            return;
+        }
+        jobLeaseService.runExclusively("text-compression-migration", Duration.ZERO, this::migrateNextChunk);
+    }
+
+    /**
+     * Continues the first unfinished target from its stored position, so a
+     * restart or another node picks up where the last chunk ended
+     */
+    private void migrateNextChunk() {
+        Map<String, DataMigrationProgress> progress = new HashMap<>();
+        progressRepository.findAllById(TARGETS.stream().map(Target::name).toList())
+                .forEach(p -> progress.put(p.getName(), p));
+
+        for (Target target : TARGETS) {
+            DataMigrationProgress current = progress.get(target.name());
+            if (current != null && current.getCompleted()) {
+                continue;
+            }
+            long afterId = current != null ? current.getLastId() : 0;
+            try {
+                long lastId = migrateChunk(target, afterId);
+                boolean done = lastId < 0;
+                progressRepository.save(new DataMigrationProgress(target.name(), done ? afterId : lastId, done,
+                        LocalDateTime.now()));
+                if (done) {
+                    log.info("Compression migration finished for {}.{}", target.table(), target.column());
+                }
+            } catch (Exception e) {
+                log.error("Compression migration failed for {}.{}: {}", target.table(), target.column(),
+                        e.getMessage());
+            }
+            // One chunk per run keeps the load on the database flat
+            return;
+        }
+        finished = true;
+    }
+
+    /**
+     * @return the last id processed, or -1 when the table has no more rows
+     */
+    private long migrateChunk(Target target, long afterId) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT " + target.idColumn() + ", " + target.column() + " FROM " + target.table()
+                        + " WHERE " + target.idColumn() + " > ? ORDER BY " + target.idColumn() + " LIMIT ?",
+                (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getBytes(2) },
+                afterId, chunkSize);
+        if (rows.isEmpty()) {
+            return -1;
+        }
+
+        List<Object[]> updates = new ArrayList<>();
+        for (Object[] row : rows) {
+            byte[] value = (byte[]) row[1];
+            if (value == null || CompressedTextConverter.isCompressed(value)
+                    || value.length < CompressedTextConverter.MIN_COMPRESS_BYTES) {
+                continue;
+            }
+            byte[] compressed = CompressedTextConverter.compress(value);
+            if (compressed != value) {
+                // Length guard: skip the row if it was rewritten since we read it
+                updates.add(new Object[] { compressed, row[0], value.length });
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE " + target.table() + " SET " + target.column() + " = ? WHERE " + target.idColumn()
+                            + " = ? AND LENGTH(" + target.column() + ") = ?",
+                    updates);
+            log.debug("Compressed {} rows of {}.{}", updates.size(), target.table(), target.column());
+        }
+
+        return (long) rows.get(rows.size() - 1)[0];
+    }
+
+    private record Target(String table, String idColumn, String column) {
+        String name() {
+            return "compress:" + table + "." + column;
+        }
+    }
+}
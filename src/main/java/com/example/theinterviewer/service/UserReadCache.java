@@ -0,0 +1,96 @@
+package com.example.theinterviewer.service;
+
+import com.example.theinterviewer.dto.common.CursorPage;
+import com.example.theinterviewer.dto.credit.CreditBalanceResponse;
+import com.example.theinterviewer.dto.dashboard.DashboardSummaryResponse;
+import com.example.theinterviewer.dto.history.InterviewHistoryItem;
+import com.example.theinterviewer.dto.history.ResumeHistoryItem;
+import com.example.theinterviewer.event.CreditsChanged;
+import com.example.theinterviewer.event.InterviewCompleted;
+import com.example.theinterviewer.event.InterviewReportRescored;
+import com.example.theinterviewer.event.InterviewStarted;
+import com.example.theinterviewer.event.ResumeAnalyzed;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Per-user cache of the read-mostly endpoints (dashboard summary, first page
+ * of resume and interview history, credit balance). Entries are dropped by the
+ * domain events that change them, after the publishing transaction commits so
+ * a concurrent read can't re-cache the old state. The TTL only bounds staleness on other
+ * nodes, which don't see this node's events.
+ */
+@Service
+@Slf4j
+public class UserReadCache {
+
+    private final Cache<Long, DashboardSummaryResponse> dashboards;
+    private final Cache<Long, CursorPage<ResumeHistoryItem>> resumeHistories;
+    private final Cache<Long, CursorPage<InterviewHistoryItem>> interviewHistories;
+    private final Cache<Long, CreditBalanceResponse> creditBalances;
+
+    public UserReadCache(@Value("${cache.user-read.ttl-seconds:300}") long ttlSeconds,
+            @Value("${cache.user-read.max-users:10000}") long maxUsers) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.dashboards = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxUsers).build();
+        this.resumeHistories = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxUsers).build();
+        this.interviewHistories = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxUsers).build();
+        this.creditBalances = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxUsers).build();
+    }
+
+    public DashboardSummaryResponse dashboard(Long userId, Function<Long, DashboardSummaryResponse> loader) {
+        return dashboards.get(userId, loader);
+    }
+
+    public CursorPage<ResumeHistoryItem> resumeHistory(Long userId,
+            Function<Long, CursorPage<ResumeHistoryItem>> loader) {
+        return resumeHistories.get(userId, loader);
+    }
+
+    public CursorPage<InterviewHistoryItem> interviewHistory(Long userId,
+            Function<Long, CursorPage<InterviewHistoryItem>> loader) {
+        return interviewHistories.get(userId, loader);
+    }
+
+    public CreditBalanceResponse creditBalance(Long userId, Function<Long, CreditBalanceResponse> loader) {
+        return creditBalances.get(userId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(InterviewStarted event) {
+        // Total interview count on the dashboard
+        dashboards.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(InterviewCompleted event) {
+        log.debug("Interview {} completed, evicting dashboard/history for user {}", event.sessionId(),
+                event.userId());
+        dashboards.invalidate(event.userId());
+        interviewHistories.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(InterviewReportRescored event) {
+        dashboards.invalidate(event.userId());
+        interviewHistories.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ResumeAnalyzed event) {
+        dashboards.invalidate(event.userId());
+        resumeHistories.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(CreditsChanged event) {
+        creditBalances.invalidate(event.userId());
+    }
+}
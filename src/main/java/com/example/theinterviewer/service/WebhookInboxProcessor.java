@@ -0,0 +1,186 @@
+package com.example.theinterviewer.service;
+
+import com.example.theinterviewer.entity.WebhookEvent;
+import com.example.theinterviewer.repository.WebhookEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies stored payment webhooks. Each event runs in its own transaction
+ * under a row lock, so concurrent pollers never apply one twice. A failed event
+ * is retried with exponential backoff, which also holds back later events of
+ * the same order, and is dead-lettered after the last attempt. Settled events
+ * are deleted once past their retention period.
+ */
+@Service
+@Slf4j
+public class WebhookInboxProcessor {
+
+    private static final long MAX_BACKOFF_MS = 3_600_000;
+    private static final int RETENTION_BATCH_SIZE = 1000;
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+    private final int processedRetentionDays;
+    private final int deadRetentionDays;
+
+    private final Counter processed;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Timer lag;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+
+    public WebhookInboxProcessor(WebhookEventRepository webhookEventRepository, PaymentService paymentService,
+            TransactionTemplate transactionTemplate, JobLeaseService jobLeaseService, MeterRegistry meterRegistry,
+            @Value("${payments.webhook.batch-size:50}") int batchSize,
+            @Value("${payments.webhook.max-attempts:8}") int maxAttempts,
+            @Value("${payments.webhook.retry-base-ms:5000}") long retryBaseMs,
+            @Value("${payments.webhook.processed-retention-days:30}") int processedRetentionDays,
+            @Value("${payments.webhook.dead-retention-days:90}") int deadRetentionDays) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLeaseService = jobLeaseService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMs = retryBaseMs;
+        this.processedRetentionDays = processedRetentionDays;
+        this.deadRetentionDays = deadRetentionDays;
+
+        this.processed = Counter.builder("payments.webhook.events").tag("outcome", "processed")
+                .register(meterRegistry);
+        this.retried = Counter.builder("payments.webhook.events").tag("outcome", "retried")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("payments.webhook.events").tag("outcome", "dead")
+                .register(meterRegistry);
+        this.lag = Timer.builder("payments.webhook.lag")
+                .description("Time from receiving a webhook to applying it")
+                .register(meterRegistry);
+        meterRegistry.gauge("payments.webhook.pending", pending);
+        meterRegistry.gauge("payments.webhook.oldest.pending.seconds", oldestPendingSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.webhook.poll-interval-ms:2000}", initialDelay = 10000)
+    public void processInbox() {
+        // One poller at a time; the row locks only guard against a lease lost mid-run
+        jobLeaseService.runExclusively("webhook-inbox", Duration.ZERO, this::drainInbox);
+    }
+
+    /**
+     * Deletes PROCESSED and DEAD events past their retention. A redelivery of a
+     * deleted event would be stored and applied again, so the processed
+     * retention must stay well above the provider's redelivery window.
+     */
+    @Scheduled(fixedDelay = 3600000, initialDelay = 300000) // hourly
+    public void purgeSettledEvents() {
+        jobLeaseService.runExclusively("webhook-inbox-retention", Duration.ofMinutes(59), () -> {
+            int processedDeleted = purge(WebhookEvent.Status.PROCESSED, processedRetentionDays);
+            int deadDeleted = purge(WebhookEvent.Status.DEAD, deadRetentionDays);
+            if (processedDeleted + deadDeleted > 0) {
+                log.info("Purged {} processed and {} dead webhook events", processedDeleted, deadDeleted);
+            }
+        });
+    }
+
+    private int purge(WebhookEvent.Status status, int retentionDays) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int deleted = 0;
+        int chunk;
+        do {
+            chunk = webhookEventRepository.deleteReceivedBefore(status.name(), cutoff, RETENTION_BATCH_SIZE);
+            deleted += chunk;
+        } while (chunk == RETENTION_BATCH_SIZE);
+        return deleted;
+    }
+
+    private void drainInbox() {
+        try {
+            List<WebhookEvent> due;
+            do {
+                due = webhookEventRepository.findDue(LocalDateTime.now(), batchSize);
+                for (WebhookEvent event : due) {
+                    process(event);
+                }
+                // Failed events are rescheduled into the future, so this ends
+            } while (due.size() == batchSize);
+
+            updateBacklog();
+        } catch (Exception e) {
+            log.error("Webhook inbox processing failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void process(WebhookEvent event) {
+        try {
+            Boolean applied = transactionTemplate.execute(status -> {
+                WebhookEvent locked = webhookEventRepository.findForUpdate(event.getId()).orElse(null);
+                if (locked == null || locked.getStatus() != WebhookEvent.Status.PENDING) {
+                    // Applied by another node while we waited for the lock
+                    return false;
+                }
+                paymentService.applyWebhookEvent(locked);
+                locked.setStatus(WebhookEvent.Status.PROCESSED);
+                locked.setAttempts(locked.getAttempts() + 1);
+                locked.setProcessedAt(LocalDateTime.now());
+                return true;
+            });
+            if (Boolean.TRUE.equals(applied)) {
+                processed.increment();
+                lag.record(Duration.between(event.getReceivedAt(), LocalDateTime.now()));
+            }
+        } catch (RuntimeException e) {
+            recordFailure(event.getId(), e);
+        }
+    }
+
+    private void recordFailure(Long id, RuntimeException error) {
+        transactionTemplate.executeWithoutResult(status -> {
+            WebhookEvent event = webhookEventRepository.findForUpdate(id).orElse(null);
+            if (event == null || event.getStatus() != WebhookEvent.Status.PENDING) {
+                return;
+            }
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            String message = String.valueOf(error.getMessage());
+            event.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+
+            if (attempts >= maxAttempts) {
+                event.setStatus(WebhookEvent.Status.DEAD);
+                deadLettered.increment();
+                log.error("Webhook event {} ({}) dead-lettered after {} attempts: {}", event.getEventId(),
+                        event.getEventType(), attempts, message, error);
+            } else {
+                long backoff = Math.min(retryBaseMs << Math.min(attempts - 1, 20), MAX_BACKOFF_MS);
+                event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+                retried.increment();
+                log.warn("Webhook event {} ({}) failed, attempt {}/{}, retrying in {} ms: {}", event.getEventId(),
+                        event.getEventType(), attempts, maxAttempts, backoff, message);
+            }
+        });
+    }
+
+    private void updateBacklog() {
+        pending.set(webhookEventRepository.countByStatus(WebhookEvent.Status.PENDING));
+        oldestPendingSeconds.set(webhookEventRepository.findFirstByStatusOrderByIdAsc(WebhookEvent.Status.PENDING)
+                .map(e -> Duration.between(e.getReceivedAt(), LocalDateTime.now()).toSeconds())
+                .orElse(0L));
+    }
+}
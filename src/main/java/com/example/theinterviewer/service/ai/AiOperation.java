@@ -0,0 +1,21 @@
+package com.example.theinterviewer.service.ai;
+
+/**
+ * The kinds of LLM calls we make, each with its own prompt budget.
+ */
+public enum AiOperation {
+    RESUME_ANALYSIS(6000),
+    QUESTION_GENERATION(2500),
+    ANSWER_EVALUATION(2000),
+    FINAL_REPORT(6000);
+
+    private final int inputBudgetTokens;
+
+    AiOperation(int inputBudgetTokens) {
+        this.inputBudgetTokens = inputBudgetTokens;
+    }
+
+    public int getInputBudgetTokens() {
+        return inputBudgetTokens;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.theinterviewer.service.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Picks max_tokens per operation from the completion lengths actually seen:
+ * the p99 of the recent window plus headroom, instead of one fixed ceiling for
+ * every call. Truncated completions count double so the limit grows quickly
+ * when it was too tight. Until an operation has enough samples (i.e. after
+ * every restart) the configured ceiling is used.
+ */
+@Component
+public class CompletionLengthTracker {
+
+    private static final int WINDOW = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final double HEADROOM = 1.3;
+    private static final int MIN_MAX_TOKENS = 128;
+
+    @Value("${groq.api.max-tokens}")
+    private int maxTokensCeiling;
+
+    private final Map<AiOperation, Window> windows = new EnumMap<>(AiOperation.class);
+
+    public CompletionLengthTracker() {
+        for (AiOperation operation : AiOperation.values()) {
+            windows.put(operation, new Window());
+        }
+    }
+
+    public int maxTokensFor(AiOperation operation) {
+        int limit = windows.get(operation).percentile(0.99)
+                .map(p99 -> (int) Math.ceil(p99 * HEADROOM))
+                .orElse(maxTokensCeiling);
+        return Math.max(MIN_MAX_TOKENS, Math.min(maxTokensCeiling, limit));
+    }
+
+    /**
+     * @param truncated whether the completion stopped because it hit max_tokens
+     */
+    public void record(AiOperation operation, int completionTokens, boolean truncated) {
+        if (completionTokens <= 0) {
+            return;
+        }
+        windows.get(operation).add(truncated ? completionTokens * 2 : completionTokens);
+    }
+
+    private static final class Window {
+        private final int[] samples = new int[WINDOW];
+        private int next;
+        private int size;
+
+        synchronized void add(int value) {
+            samples[next] = value;
+            next = (next + 1) % WINDOW;
+            size = Math.min(size + 1, WINDOW);
+        }
+
+        synchronized Optional<Integer> percentile(double quantile) {
+            if (size < MIN_SAMPLES) {
+                return Optional.empty();
+            }
+            int[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * size) - 1;
+            return Optional.of(sorted[Math.max(0, Math.min(size - 1, index))]);
+        }
+    }
+}
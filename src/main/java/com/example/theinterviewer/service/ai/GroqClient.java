@@ -1,5 +1,6 @@
 package com.example.theinterviewer.service.ai;
 
+import com.example.theinterviewer.entity.InterviewQuestion;
 import com.example.theinterviewer.exception.AiServiceException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,6 +27,9 @@ public class GroqClient {
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
     private final AiUsageService aiUsageService;
+    private final TokenEstimator tokenEstimator;
+    private final PromptAssembler promptAssembler;
+    private final CompletionLengthTracker completionLengthTracker;
 
     @Value("${groq.api.key}")
     private String apiKeysString;
@@ -40,7 +44,7 @@ public class GroqClient {
     private double temperature;
 
     @Value("${groq.api.max-tokens}")
-    private int maxTokens;
+    private int maxTokensCeiling;
 
     @Value("${groq.api.model.interview}")
     private String interviewModel; // llama-3.1-8b-instant
@@ -63,13 +67,40 @@ public class GroqClient {
     }
 
     // Core method to send prompts to Groq API with retry logic for network errors
-    private String sendPrompt(String promptText, String model, Long userId, Long referenceId,
-            com.example.theinterviewer.entity.AiUsageLog.Module module) {
+    private String sendPrompt(String promptText, String model, AiOperation operation, Long userId,
+            Long referenceId, com.example.theinterviewer.entity.AiUsageLog.Module module) {
 
         if (apiKeys.isEmpty()) {
             throw new AiServiceException("No Groq API keys available.");
         }
 
+        int estimatedPromptTokens = tokenEstimator.estimate(promptText);
+        int maxTokens = completionLengthTracker.maxTokensFor(operation);
+        if (estimatedPromptTokens > operation.getInputBudgetTokens()) {
+            log.warn("{} prompt estimated at {} tokens, over its {} token budget", operation,
+                    estimatedPromptTokens, operation.getInputBudgetTokens());
+        }
+        log.debug("{} prompt ~{} tokens, max_tokens {}", operation, estimatedPromptTokens, maxTokens);
+
+        Completion completion = requestCompletion(promptText, model, operation, maxTokens, estimatedPromptTokens,
+                userId, referenceId, module);
+        if (completion.truncated() && maxTokens < maxTokensCeiling) {
+            // A cut-off completion is usually unparseable JSON, so spend one retry at the full ceiling
+            log.warn("{} completion truncated at {} tokens, retrying once with {}", operation, maxTokens,
+                    maxTokensCeiling);
+            completion = requestCompletion(promptText, model, operation, maxTokensCeiling, estimatedPromptTokens,
+                    userId, referenceId, module);
+        }
+        return completion.text();
+    }
+
+    private record Completion(String text, boolean truncated) {
+    }
+
+    private Completion requestCompletion(String promptText, String model, AiOperation operation, int maxTokens,
+            int estimatedPromptTokens, Long userId, Long referenceId,
+            com.example.theinterviewer.entity.AiUsageLog.Module module) {
+
         long startTime = System.currentTimeMillis();
         String response = null;
         int maxNetworkRetries = 3; // Retry network errors 3 times
@@ -127,15 +158,24 @@ public class GroqClient {
                     try {
                         JsonNode root = objectMapper.readTree(response);
                         int tokensUsed = 0;
+                        boolean truncated = "length".equals(
+                                root.path("choices").path(0).path("finish_reason").asText());
+                        if (truncated) {
+                            log.warn("{} completion hit max_tokens ({})", operation, maxTokens);
+                        }
                         if (root.has("usage")) {
-                            tokensUsed = root.get("usage").path("total_tokens").asInt(0);
+                            JsonNode usage = root.get("usage");
+                            tokensUsed = usage.path("total_tokens").asInt(0);
+                            tokenEstimator.calibrate(estimatedPromptTokens, usage.path("prompt_tokens").asInt(0));
+                            completionLengthTracker.record(operation, usage.path("completion_tokens").asInt(0),
+                                    truncated);
                         }
                         if (userId != null && module != null) {
                             aiUsageService.logUsage(userId, module, referenceId, tokensUsed, responseTimeMs);
                         }
                         String extractedText = extractText(root);
                         log.debug("Received response from Groq API");
-                        return extractedText.trim();
+                        return new Completion(extractedText.trim(), truncated);
                     } catch (Exception e) {
                         throw new AiServiceException("Failed to parse AI response: " + e.getMessage(), e);
                     }
@@ -216,30 +256,43 @@ public class GroqClient {
     public String sendPrompt(String promptText, Long userId, Long referenceId,
             com.example.theinterviewer.entity.AiUsageLog.Module module) {
         String model = interviewModel;
+        AiOperation operation = AiOperation.QUESTION_GENERATION;
         if (module == com.example.theinterviewer.entity.AiUsageLog.Module.RESUME_ANALYSIS) {
             model = resumeModel;
+            operation = AiOperation.RESUME_ANALYSIS;
         }
-        return sendPrompt(promptText, model, userId, referenceId, module);
+        return sendPrompt(promptText, model, operation, userId, referenceId, module);
     }
 
     public String analyzeResume(String resumeText, Long userId, Long resumeId) {
         // Use the powerful 70b model for deep resume analysis
-        String prompt = buildResumeAnalysisPrompt(resumeText);
-        return sendPrompt(prompt, resumeModel, userId, resumeId,
+        int budget = AiOperation.RESUME_ANALYSIS.getInputBudgetTokens()
+                - tokenEstimator.estimate(buildResumeAnalysisPrompt(""));
+        String fittedResume = promptAssembler.assemble(
+                List.of(new PromptAssembler.Part(resumeText, 1, 0)), budget);
+        String prompt = buildResumeAnalysisPrompt(fittedResume);
+        return sendPrompt(prompt, resumeModel, AiOperation.RESUME_ANALYSIS, userId, resumeId,
                 com.example.theinterviewer.entity.AiUsageLog.Module.RESUME_ANALYSIS);
     }
 
     public String generateInterviewQuestions(String context, String roundType, Long userId, Long sessionId) {
         // Use the fast 8b model for interviews
         String prompt = buildInterviewQuestionPrompt(context, roundType);
-        return sendPrompt(prompt, interviewModel, userId, sessionId,
+        return sendPrompt(prompt, interviewModel, AiOperation.QUESTION_GENERATION, userId, sessionId,
                 com.example.theinterviewer.entity.AiUsageLog.Module.INTERVIEW);
     }
 
     public String evaluateAnswer(String question, String answer, String context, Long userId, Long sessionId) {
         // Use the fast 8b model for answer evaluation
-        String prompt = buildAnswerEvaluationPrompt(question, answer, context);
-        return sendPrompt(prompt, interviewModel, userId, sessionId,
+        // The question is kept whole; the context goes first, then the tail of very long answers
+        int budget = AiOperation.ANSWER_EVALUATION.getInputBudgetTokens()
+                - tokenEstimator.estimate(buildAnswerEvaluationPrompt("", "", ""));
+        List<String> fitted = promptAssembler.fit(List.of(
+                new PromptAssembler.Part(question, 10, Integer.MAX_VALUE),
+                new PromptAssembler.Part(answer, 5, 300),
+                new PromptAssembler.Part(context, 1, 0)), budget);
+        String prompt = buildAnswerEvaluationPrompt(fitted.get(0), fitted.get(1), fitted.get(2));
+        return sendPrompt(prompt, interviewModel, AiOperation.ANSWER_EVALUATION, userId, sessionId,
                 com.example.theinterviewer.entity.AiUsageLog.Module.INTERVIEW);
     }
 
@@ -316,35 +369,39 @@ public class GroqClient {
                 """.formatted(question, answer, context);
     }
 
-    public String generateFinalReport(String context, String interviewData, Long userId, Long sessionId) {
+    public String generateFinalReport(String context, List<InterviewQuestion> questions, Long userId,
+            Long sessionId) {
         // Use the powerful 70b model for final report generation to ensure high quality
         // summary
-        String prompt = buildFinalReportPrompt(context, interviewData);
+        String prompt = buildFinalReportPrompt(context, questions);
         // Using resumeModel (70b) for better quality summary
-        return sendPrompt(prompt, resumeModel, userId, sessionId,
+        return sendPrompt(prompt, resumeModel, AiOperation.FINAL_REPORT, userId, sessionId,
                 com.example.theinterviewer.entity.AiUsageLog.Module.INTERVIEW);
     }
 
-    private String buildFinalReportPrompt(String context, String interviewData) {
-        // This is a minimal prompt builder inside GroqClient to delegate to
-        // PromptTemplateService if needed,
-        // but here we are receiving the FULL prompt from PromptTemplateService via
-        // proper injection in Service layer.
-        // Wait, the Service layer builds the prompt string using PromptTemplateService,
-        // so here we just need to send it.
-        // Correction: The method signature above takes 'context' and 'interviewData'.
-        // Let's rely on PromptTemplateService to build the string in the Service layer,
-        // OR we can reproduce the builder here.
-        // Re-reading design: GroqClient has 'buildXXXPrompt' private methods.
-        // It seems the pattern is: Service calls GroqClient.generateXXX ->
-        // GroqClient.buildPrompt -> GroqClient.sendPrompt.
-        // So I should implement the prompt builder HERE locally to match the pattern,
-        // OR change the pattern.
-        // Looking at line 205: prompt = buildInterviewQuestionPrompt(context,
-        // roundType);
-        // So GroqClient DOES build the prompt.
-        // OK, I will add the private builder method here too for consistency.
+    /**
+     * Long interviews are fitted to the FINAL_REPORT budget: per-question feedback
+     * goes first, then candidate context, then answers are shortened; questions
+     * and scores are always kept
+     */
+    private String buildFinalReportPrompt(String context, List<InterviewQuestion> questions) {
+        List<PromptAssembler.Part> parts = new ArrayList<>();
+        parts.add(new PromptAssembler.Part(context, 2, 0));
+        for (InterviewQuestion q : questions) {
+            parts.add(new PromptAssembler.Part("Question: " + q.getQuestionText() + "\n", 9, Integer.MAX_VALUE));
+            parts.add(new PromptAssembler.Part("Answer: " + q.getUserAnswer() + "\n", 4, 60));
+            parts.add(new PromptAssembler.Part("Score: " + q.getScore() + "/10\n", 9, Integer.MAX_VALUE));
+            parts.add(new PromptAssembler.Part("Feedback: " + q.getAiFeedback() + "\n", 3, 0));
+            parts.add(new PromptAssembler.Part("\n", 9, Integer.MAX_VALUE));
+        }
 
+        int budget = AiOperation.FINAL_REPORT.getInputBudgetTokens()
+                - tokenEstimator.estimate(buildFinalReportPrompt("", ""));
+        List<String> fitted = promptAssembler.fit(parts, budget);
+        return buildFinalReportPrompt(fitted.get(0), String.join("", fitted.subList(1, fitted.size())));
+    }
+
+    private String buildFinalReportPrompt(String context, String interviewData) {
         return """
                 You are an expert interviewer. Generate a comprehensive final summary report for the candidate based on their interview performance.
 
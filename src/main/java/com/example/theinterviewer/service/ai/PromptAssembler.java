@@ -0,0 +1,88 @@
+package com.example.theinterviewer.service.ai;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Fits variable prompt content into a token budget. Parts keep their order in
+ * the output; when over budget, the lowest-priority parts are shortened first
+ * (down to their minimum, which may be zero) before higher ones are touched.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PromptAssembler {
+
+    private static final String ELLIPSIS = " ...";
+
+    private final TokenEstimator tokenEstimator;
+
+    /**
+     * @param priority  higher survives longer
+     * @param minTokens the part is never cut below this (0 allows dropping it)
+     */
+    public record Part(String text, int priority, int minTokens) {
+    }
+
+    public String assemble(List<Part> parts, int budgetTokens) {
+        StringBuilder prompt = new StringBuilder();
+        for (String text : fit(parts, budgetTokens)) {
+            prompt.append(text);
+        }
+        return prompt.toString();
+    }
+
+    /**
+     * Same as {@link #assemble} but returns each part's (possibly shortened) text,
+     * for prompts whose parts go into separate template slots
+     */
+    public List<String> fit(List<Part> parts, int budgetTokens) {
+        List<String> texts = new ArrayList<>(parts.size());
+        int[] tokens = new int[parts.size()];
+        int total = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            String text = parts.get(i).text() != null ? parts.get(i).text() : "";
+            texts.add(text);
+            tokens[i] = tokenEstimator.estimate(text);
+            total += tokens[i];
+        }
+
+        if (total > budgetTokens) {
+            log.debug("Prompt content estimated at {} tokens, trimming to {}", total, budgetTokens);
+
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < parts.size(); i++) {
+                order.add(i);
+            }
+            // Lowest priority first; later parts of equal priority go first
+            order.sort(Comparator.<Integer>comparingInt(i -> parts.get(i).priority())
+                    .thenComparing(Comparator.<Integer>reverseOrder()));
+
+            for (int i : order) {
+                if (total <= budgetTokens) {
+                    break;
+                }
+                int excess = total - budgetTokens;
+                int target = Math.max(parts.get(i).minTokens(), tokens[i] - excess);
+                if (target >= tokens[i]) {
+                    continue;
+                }
+
+                String text = texts.get(i);
+                String trimmed = target == 0 ? ""
+                        : tokenEstimator.truncate(text, target) + ELLIPSIS + (text.endsWith("\n") ? "\n" : "");
+                int trimmedTokens = tokenEstimator.estimate(trimmed);
+                total -= tokens[i] - trimmedTokens;
+                tokens[i] = trimmedTokens;
+                texts.set(i, trimmed);
+            }
+        }
+
+        return texts;
+    }
+}
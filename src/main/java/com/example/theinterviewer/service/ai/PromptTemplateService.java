@@ -1,14 +1,46 @@
 package com.example.theinterviewer.service.ai;
 
 import com.example.theinterviewer.entity.InterviewProfile;
+import com.example.theinterviewer.entity.InterviewQuestion;
+import com.example.theinterviewer.entity.ResumeContent;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class PromptTemplateService {
 
-  public String buildInterviewContext(InterviewProfile profile, String resumeText, String recentProjects) {
+  // Most relevant sections first for each kind of prompt
+  private static final List<ResumeContent.Section> GENERAL_SECTIONS = List.of(
+      ResumeContent.Section.SKILLS, ResumeContent.Section.EXPERIENCE, ResumeContent.Section.PROJECTS,
+      ResumeContent.Section.SUMMARY, ResumeContent.Section.EDUCATION);
+  private static final List<ResumeContent.Section> HR_SECTIONS = List.of(
+      ResumeContent.Section.SUMMARY, ResumeContent.Section.EXPERIENCE, ResumeContent.Section.PROJECTS,
+      ResumeContent.Section.EDUCATION);
+  private static final List<ResumeContent.Section> TECHNICAL_SECTIONS = List.of(
+      ResumeContent.Section.SKILLS, ResumeContent.Section.EXPERIENCE, ResumeContent.Section.PROJECTS);
+  private static final List<ResumeContent.Section> PROJECT_SECTIONS = List.of(
+      ResumeContent.Section.PROJECTS, ResumeContent.Section.EXPERIENCE, ResumeContent.Section.SKILLS);
+
+  private final TokenEstimator tokenEstimator;
+
+  @Value("${ai.context.resume-token-budget:600}")
+  private int resumeTokenBudget;
+
+  @Value("${ai.context.project-resume-token-budget:1200}")
+  private int projectResumeTokenBudget;
+
+  /**
+   * @param round the round the context is for, or null for evaluation/report prompts
+   */
+  public String buildInterviewContext(InterviewProfile profile, Map<ResumeContent.Section, String> resumeSections,
+      String recentProjects, InterviewQuestion.RoundType round) {
     StringBuilder context = new StringBuilder();
 
     context.append("Candidate Profile:\n");
@@ -21,19 +53,74 @@ public class PromptTemplateService {
       context.append("\nRecent Projects:\n").append(recentProjects).append("\n");
     }
 
-    if (resumeText != null && !resumeText.isEmpty()) {
-      context.append("\nResume Summary:\n");
-      // Include first 500 characters of resume for context
-      int length = Math.min(500, resumeText.length());
-      context.append(resumeText.substring(0, length));
-      if (resumeText.length() > 500) {
-        context.append("...");
+    if (resumeSections != null && !resumeSections.isEmpty()) {
+      int budget = round == InterviewQuestion.RoundType.PROJECT ? projectResumeTokenBudget : resumeTokenBudget;
+      String resume = buildResumeBlock(resumeSections, sectionPriority(round), budget);
+      if (!resume.isEmpty()) {
+        context.append("\nResume Highlights:\n").append(resume);
       }
     }
 
     return context.toString();
   }
 
+  private List<ResumeContent.Section> sectionPriority(InterviewQuestion.RoundType round) {
+    if (round == null) {
+      return GENERAL_SECTIONS;
+    }
+    return switch (round) {
+      case HR -> HR_SECTIONS;
+      case TECHNICAL -> TECHNICAL_SECTIONS;
+      case PROJECT -> PROJECT_SECTIONS;
+    };
+  }
+
+  /**
+   * Adds the compacted sections in priority order until the token budget
+   * runs out, cutting the last one at a line boundary
+   */
+  private String buildResumeBlock(Map<ResumeContent.Section, String> sections,
+      List<ResumeContent.Section> priority, int maxTokens) {
+    StringBuilder block = new StringBuilder();
+    int used = 0;
+    for (ResumeContent.Section section : priority) {
+      String text = sections.get(section);
+      if (text == null || text.isBlank()) {
+        continue;
+      }
+
+      String heading = section.name() + ":\n";
+      int remaining = maxTokens - used - tokenEstimator.estimate(heading);
+      if (remaining < 25) {
+        break;
+      }
+
+      String compact = compact(text);
+      int tokens = tokenEstimator.estimate(compact);
+      if (tokens > remaining) {
+        compact = tokenEstimator.truncate(compact, remaining) + "...";
+        tokens = remaining;
+      }
+      block.append(heading).append(compact).append("\n\n");
+      used += tokenEstimator.estimate(heading) + tokens;
+    }
+    return block.toString().strip();
+  }
+
+  /**
+   * Drops blank lines and runs of whitespace so the budget goes to content
+   */
+  private String compact(String text) {
+    StringBuilder compact = new StringBuilder(text.length());
+    for (String line : text.split("\n")) {
+      String collapsed = line.strip().replaceAll("\\s+", " ");
+      if (!collapsed.isEmpty()) {
+        compact.append(collapsed).append('\n');
+      }
+    }
+    return compact.toString().strip();
+  }
+
   public String buildHRQuestionPrompt(String context) {
     return """
         Generate HR/Personality round questions for the candidate.
@@ -82,15 +169,12 @@ public class PromptTemplateService {
         """.formatted(context);
   }
 
-  public String buildProjectQuestionPrompt(String context, String resumeText) {
+  public String buildProjectQuestionPrompt(String context) {
     return """
         Generate Project-based questions for the candidate based on their resume.
 
         %s
 
-        Resume Details:
-        %s
-
         Focus on:
         - Specific projects mentioned in resume
         - Technology choices and architecture decisions
@@ -106,7 +190,22 @@ public class PromptTemplateService {
             "Question text here"
           ]
         }
-        """.formatted(context, resumeText);
+        """.formatted(context);
+  }
+
+  public String buildReplacementQuestionPrompt(String originalPrompt, int count, List<String> avoidQuestions) {
+    StringBuilder avoid = new StringBuilder();
+    for (String question : avoidQuestions) {
+      avoid.append("- ").append(question).append("\n");
+    }
+
+    return """
+        %s
+
+        IMPORTANT: Generate ONLY %d question(s). The candidate has already been asked the
+        following questions (or very similar ones). Do NOT repeat or rephrase any of them:
+        %s
+        """.formatted(originalPrompt, count, avoid);
   }
 
   public String buildFinalReportPrompt(String context, String interviewData) {
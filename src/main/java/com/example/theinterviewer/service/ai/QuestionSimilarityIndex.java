@@ -0,0 +1,202 @@
+package com.example.theinterviewer.service.ai;
+
+import com.example.theinterviewer.repository.InterviewQuestionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user MinHash/LSH index over previously asked interview questions.
+ * Lets us drop near-duplicate AI questions locally instead of paying for a
+ * whole new generation round-trip.
+ */
+@Service
+@Slf4j
+public class QuestionSimilarityIndex {
+
+    private static final int NUM_HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    private static final int SHINGLE_SIZE = 3;
+
+    private final InterviewQuestionRepository questionRepository;
+    private final Cache<Long, UserIndex> indexes;
+    private final long[] hashA = new long[NUM_HASHES];
+    private final long[] hashB = new long[NUM_HASHES];
+
+    @Value("${interview.questions.similarity-threshold:0.6}")
+    private double similarityThreshold;
+
+    public QuestionSimilarityIndex(InterviewQuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+        this.indexes = Caffeine.newBuilder()
+                .expireAfterAccess(2, TimeUnit.HOURS)
+                .maximumSize(10_000)
+                .build();
+
+        // Fixed seed so signatures are stable across restarts and nodes
+        Random random = new Random(0x5EED_CAFEL);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            hashA[i] = random.nextLong() | 1; // odd multiplier for multiply-shift hashing
+            hashB[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns the candidates that are not near-duplicates of the user's history
+     * or of each other, preserving order
+     */
+    public List<String> filterFresh(Long userId, List<String> candidates) {
+        UserIndex index = indexFor(userId);
+        List<String> fresh = new ArrayList<>();
+        List<int[]> accepted = new ArrayList<>();
+
+        for (String candidate : candidates) {
+            int[] signature = signature(candidate);
+            if (index.containsSimilar(signature, similarityThreshold)) {
+                log.debug("Dropping near-duplicate question for user {}: {}", userId, candidate);
+                continue;
+            }
+            boolean duplicateInBatch = accepted.stream()
+                    .anyMatch(other -> similarity(signature, other) >= similarityThreshold);
+            if (duplicateInBatch) {
+                continue;
+            }
+            accepted.add(signature);
+            fresh.add(candidate);
+        }
+        return fresh;
+    }
+
+    /**
+     * Adds newly asked questions to the user's index
+     */
+    public void record(Long userId, List<String> questions) {
+        UserIndex index = indexes.getIfPresent(userId);
+        if (index == null) {
+            // Will be built from the database (including these questions) on next use
+            return;
+        }
+        for (String question : questions) {
+            index.add(signature(question));
+        }
+    }
+
+    private UserIndex indexFor(Long userId) {
+        return indexes.get(userId, id -> {
+            UserIndex index = new UserIndex();
+            for (String text : questionRepository.findQuestionTextsByUserId(id)) {
+                index.add(signature(text));
+            }
+            log.debug("Built question similarity index for user {} with {} entries", id, index.size());
+            return index;
+        });
+    }
+
+    int[] signature(String text) {
+        int[] minHashes = new int[NUM_HASHES];
+        Arrays.fill(minHashes, Integer.MAX_VALUE);
+
+        for (long shingle : shingles(text)) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) ((hashA[i] * shingle + hashB[i]) >>> 32);
+                if (h < minHashes[i]) {
+                    minHashes[i] = h;
+                }
+            }
+        }
+        return minHashes;
+    }
+
+    private Set<Long> shingles(String text) {
+        String[] words = text == null ? new String[0]
+                : text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9 ]", " ").trim().split("\\s+");
+        Set<Long> shingles = new HashSet<>();
+        if (words.length < SHINGLE_SIZE) {
+            shingles.add(mix(String.join(" ", words).hashCode()));
+            return shingles;
+        }
+        for (int i = 0; i + SHINGLE_SIZE <= words.length; i++) {
+            int h = 1;
+            for (int j = 0; j < SHINGLE_SIZE; j++) {
+                h = 31 * h + words[i + j].hashCode();
+            }
+            shingles.add(mix(h));
+        }
+        return shingles;
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private static long mix(int value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        return z ^ (z >>> 31);
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int r = 0; r < ROWS_PER_BAND; r++) {
+            key = key * 1_000_003L + signature[band * ROWS_PER_BAND + r];
+        }
+        return key;
+    }
+
+    /**
+     * LSH-banded signatures for one user. Only signatures sharing at least one
+     * band bucket are compared in full.
+     */
+    private static final class UserIndex {
+        private final List<int[]> signatures = new ArrayList<>();
+        private final Map<Long, List<Integer>> buckets = new HashMap<>();
+
+        synchronized void add(int[] signature) {
+            int position = signatures.size();
+            signatures.add(signature);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bandKey(signature, band), k -> new ArrayList<>()).add(position);
+            }
+        }
+
+        synchronized boolean containsSimilar(int[] signature, double threshold) {
+            Set<Integer> seen = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                List<Integer> bucket = buckets.get(bandKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Integer position : bucket) {
+                    if (seen.add(position) && similarity(signature, signatures.get(position)) >= threshold) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        synchronized int size() {
+            return signatures.size();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.theinterviewer.service.ai;
+
+import com.example.theinterviewer.entity.ResumeContent;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Splits parsed resume text into sections (summary, skills, experience, projects,
+ * education) by recognising heading lines. Runs once at upload; the result is
+ * stored as character offsets into the parsed text so nothing is duplicated.
+ */
+@Component
+public class ResumeSectionSegmenter {
+
+    private static final int MAX_HEADING_LENGTH = 40;
+
+    // Normalised heading -> section; a null value marks a heading that ends the current section
+    private static final Map<String, ResumeContent.Section> HEADINGS = new HashMap<>();
+
+    static {
+        register(ResumeContent.Section.SUMMARY, "summary", "professional summary", "profile", "professional profile",
+                "objective", "career objective", "about me", "about", "career summary");
+        register(ResumeContent.Section.SKILLS, "skills", "technical skills", "key skills", "core skills",
+                "core competencies", "competencies", "technologies", "tech stack", "tools", "tools technologies",
+                "skills tools", "programming languages", "technical proficiency", "skill set", "skillset");
+        register(ResumeContent.Section.EXPERIENCE, "experience", "work experience", "professional experience",
+                "employment", "employment history", "work history", "career history", "internships", "internship",
+                "relevant experience", "industry experience");
+        register(ResumeContent.Section.PROJECTS, "projects", "project", "personal projects", "academic projects",
+                "key projects", "project experience", "selected projects", "side projects", "major projects");
+        register(ResumeContent.Section.EDUCATION, "education", "academic background", "academics",
+                "qualifications", "educational qualifications", "education qualifications", "academic qualifications");
+        register(null, "certifications", "certificates", "achievements", "awards", "honors", "honours",
+                "languages", "interests", "hobbies", "publications", "references", "volunteering",
+                "volunteer experience", "extracurricular activities", "activities", "declaration",
+                "personal details", "personal information", "contact", "contact information", "courses",
+                "positions of responsibility", "leadership");
+    }
+
+    private static void register(ResumeContent.Section section, String... headings) {
+        for (String heading : headings) {
+            HEADINGS.put(heading, section);
+        }
+    }
+
+    /**
+     * @return section -> {start, end} offsets into {@code text}; when a section
+     *         appears more than once the longest occurrence is kept
+     */
+    public Map<ResumeContent.Section, int[]> segment(String text) {
+        Map<ResumeContent.Section, int[]> offsets = new EnumMap<>(ResumeContent.Section.class);
+        if (text == null || text.isEmpty()) {
+            return offsets;
+        }
+
+        ResumeContent.Section current = null;
+        int sectionStart = 0;
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+
+            Heading heading = matchHeading(text, lineStart, lineEnd);
+            if (heading != null) {
+                close(offsets, current, sectionStart, lineStart);
+                current = heading.section();
+                sectionStart = heading.bodyStart();
+            }
+
+            lineStart = lineEnd + 1;
+        }
+        close(offsets, current, sectionStart, text.length());
+
+        return offsets;
+    }
+
+    /**
+     * Slices the stored offsets back into text; segments on the fly for rows
+     * parsed before sections were stored
+     */
+    public Map<ResumeContent.Section, String> sections(ResumeContent content) {
+        Map<ResumeContent.Section, String> sections = new EnumMap<>(ResumeContent.Section.class);
+        String text = content.getParsedText();
+        if (text == null) {
+            return sections;
+        }
+
+        Map<ResumeContent.Section, int[]> offsets = content.getSectionOffsets() != null
+                ? content.getSectionOffsets()
+                : segment(text);
+        offsets.forEach((section, range) -> {
+            if (range.length == 2 && range[0] >= 0 && range[1] <= text.length() && range[0] < range[1]) {
+                sections.put(section, text.substring(range[0], range[1]).strip());
+            }
+        });
+
+        // No recognisable headings - let the context builder budget the whole text
+        if (sections.isEmpty()) {
+            sections.put(ResumeContent.Section.SUMMARY, text.strip());
+        }
+        return sections;
+    }
+
+    private void close(Map<ResumeContent.Section, int[]> offsets, ResumeContent.Section section, int start,
+            int end) {
+        if (section == null || end <= start) {
+            return;
+        }
+        int[] existing = offsets.get(section);
+        if (existing == null || existing[1] - existing[0] < end - start) {
+            offsets.put(section, new int[] { start, end });
+        }
+    }
+
+    /**
+     * A heading is a short line whose normalised text is a known heading, or a
+     * "Heading: content" line, in which case the section starts after the colon
+     */
+    private Heading matchHeading(String text, int lineStart, int lineEnd) {
+        String line = text.substring(lineStart, lineEnd);
+        String trimmed = line.strip();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+
+        if (trimmed.length() <= MAX_HEADING_LENGTH) {
+            String normalized = normalize(trimmed);
+            if (HEADINGS.containsKey(normalized)) {
+                return new Heading(HEADINGS.get(normalized), Math.min(lineEnd + 1, text.length()));
+            }
+        }
+
+        int colon = line.indexOf(':');
+        if (colon > 0 && colon <= MAX_HEADING_LENGTH) {
+            String normalized = normalize(line.substring(0, colon));
+            if (HEADINGS.containsKey(normalized)) {
+                return new Heading(HEADINGS.get(normalized), lineStart + colon + 1);
+            }
+        }
+        return null;
+    }
+
+    private String normalize(String heading) {
+        StringBuilder normalized = new StringBuilder(heading.length());
+        boolean space = false;
+        for (int i = 0; i < heading.length(); i++) {
+            char c = Character.toLowerCase(heading.charAt(i));
+            if (c >= 'a' && c <= 'z') {
+                if (space && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        // "Skills & Tools" and "Skills and Tools" normalise the same way
+        return normalized.toString().replace(" and ", " ");
+    }
+
+    private record Heading(ResumeContent.Section section, int bodyStart) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.theinterviewer.service.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimates LLM token counts locally, without a round trip to the API.
+ * <p>
+ * Text is scanned the way BPE tokenizers split it: letter runs (roughly one
+ * token per 5 ASCII characters, one per character for other scripts), digit
+ * groups of up to 3, and one token per symbol or line break. The raw count is
+ * then scaled by a ratio calibrated against the prompt_tokens the API reports.
+ */
+@Component
+@Slf4j
+public class TokenEstimator {
+
+    private static final double MIN_RATIO = 0.5;
+    private static final double MAX_RATIO = 2.0;
+    private static final double CALIBRATION_WEIGHT = 0.05;
+
+    // Starts slightly pessimistic so early prompts stay under budget
+    private volatile double ratio = 1.1;
+
+    public int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (int) Math.ceil(walk(text, Integer.MAX_VALUE)[0] * ratio);
+    }
+
+    /**
+     * Longest prefix of {@code text} estimated at no more than {@code maxTokens},
+     * cut at a line break or space where possible
+     */
+    public String truncate(String text, int maxTokens) {
+        if (text == null || maxTokens <= 0) {
+            return "";
+        }
+        int rawLimit = (int) Math.floor(maxTokens / ratio);
+        int end = (int) walk(text, rawLimit)[1];
+        if (end >= text.length()) {
+            return text;
+        }
+
+        int lineBreak = text.lastIndexOf('\n', end);
+        if (lineBreak > end * 3 / 4) {
+            return text.substring(0, lineBreak);
+        }
+        int space = text.lastIndexOf(' ', end);
+        return text.substring(0, space > end / 2 ? space : end);
+    }
+
+    /**
+     * Feeds back the provider's count for a prompt we estimated
+     */
+    public void calibrate(int estimatedTokens, int actualTokens) {
+        if (estimatedTokens <= 0 || actualTokens <= 0) {
+            return;
+        }
+        double rawEstimate = estimatedTokens / ratio;
+        double observed = Math.max(MIN_RATIO, Math.min(MAX_RATIO, actualTokens / rawEstimate));
+        ratio = ratio + CALIBRATION_WEIGHT * (observed - ratio);
+        log.debug("Token estimate {} vs actual {}, ratio now {}", estimatedTokens, actualTokens, ratio);
+    }
+
+    /**
+     * @return {raw token count, index where the count would exceed rawLimit (or text length)}
+     */
+    private long[] walk(String text, int rawLimit) {
+        long tokens = 0;
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            int start = i;
+            char c = text.charAt(i);
+            int pieceTokens;
+
+            if (Character.isLetter(c)) {
+                boolean ascii = true;
+                while (i < length && Character.isLetter(text.charAt(i))) {
+                    ascii &= text.charAt(i) < 0x80;
+                    i++;
+                }
+                int run = i - start;
+                pieceTokens = ascii ? (run + 4) / 5 : run;
+            } else if (Character.isDigit(c)) {
+                while (i < length && Character.isDigit(text.charAt(i))) {
+                    i++;
+                }
+                pieceTokens = (i - start + 2) / 3;
+            } else if (c == '\n' || c == '\r') {
+                while (i < length && (text.charAt(i) == '\n' || text.charAt(i) == '\r')) {
+                    i++;
+                }
+                pieceTokens = 1;
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && text.charAt(i) != '\n' && Character.isWhitespace(text.charAt(i))) {
+                    i++;
+                }
+                // A single space merges into the next word; indentation runs cost a little
+                pieceTokens = (i - start) / 4;
+            } else {
+                i++;
+                pieceTokens = 1;
+            }
+
+            if (tokens + pieceTokens > rawLimit) {
+                return new long[] { tokens, start };
+            }
+            tokens += pieceTokens;
+        }
+        return new long[] { tokens, length };
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.theinterviewer.service.leaderboard;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap of (score, userId) entries where every node knows its subtree size, so
+ * "how many scores are higher than x" is a single O(log n) walk from the root.
+ * Not thread-safe; {@link ScoreLeaderboard} guards it.
+ */
+final class OrderStatisticTree {
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(double score, long userId) {
+        root = insert(root, new Node(score, userId, ThreadLocalRandom.current().nextInt()));
+    }
+
+    void remove(double score, long userId) {
+        root = remove(root, score, userId);
+    }
+
+    /**
+     * Number of entries with a score strictly greater than {@code score}
+     */
+    int countGreater(double score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score) {
+                count += 1 + size(node.right);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    private Node insert(Node node, Node entry) {
+        if (node == null) {
+            return entry;
+        }
+        if (entry.priority > node.priority) {
+            Node[] halves = split(node, entry.score, entry.userId);
+            entry.left = halves[0];
+            entry.right = halves[1];
+            return update(entry);
+        }
+        if (compare(entry.score, entry.userId, node) < 0) {
+            node.left = insert(node.left, entry);
+        } else {
+            node.right = insert(node.right, entry);
+        }
+        return update(node);
+    }
+
+    private Node remove(Node node, double score, long userId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(score, userId, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, score, userId);
+        } else {
+            node.right = remove(node.right, score, userId);
+        }
+        return update(node);
+    }
+
+    /**
+     * Splits into entries ordered before (score, userId) and the rest
+     */
+    private Node[] split(Node node, double score, long userId) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (compare(score, userId, node) <= 0) {
+            Node[] halves = split(node.left, score, userId);
+            node.left = halves[1];
+            halves[1] = update(node);
+            return halves;
+        }
+        Node[] halves = split(node.right, score, userId);
+        node.right = halves[0];
+        halves[0] = update(node);
+        return halves;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static int compare(double score, long userId, Node node) {
+        int cmp = Double.compare(score, node.score);
+        return cmp != 0 ? cmp : Long.compare(userId, node.userId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static final class Node {
+        private final double score;
+        private final long userId;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(double score, long userId, int priority) {
+            this.score = score;
+            this.userId = userId;
+            this.priority = priority;
+        }
+    }
+}
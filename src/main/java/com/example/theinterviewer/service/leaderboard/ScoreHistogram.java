@@ -0,0 +1,82 @@
+package com.example.theinterviewer.service.leaderboard;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-width histogram over the 0-10 interview score range. Counts are
+ * signed so a replaced score can be subtracted, and two histograms merge by
+ * adding bins, in any order and on any node. Rank queries are exact up to
+ * ties within one bin.
+ */
+final class ScoreHistogram {
+
+    static final double MAX_SCORE = 10.0;
+    static final int BINS_PER_POINT = 20;
+    static final int BINS = (int) (MAX_SCORE * BINS_PER_POINT) + 1;
+
+    private final long[] counts;
+
+    ScoreHistogram() {
+        this(new long[BINS]);
+    }
+
+    ScoreHistogram(long[] counts) {
+        this.counts = counts.length == BINS ? counts.clone() : new long[BINS];
+    }
+
+    void add(double score, long delta) {
+        counts[bin(score)] += delta;
+    }
+
+    void merge(long[] other) {
+        if (other == null || other.length != BINS) {
+            return;
+        }
+        for (int i = 0; i < BINS; i++) {
+            counts[i] += other[i];
+        }
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    long total() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Share of scores above {@code score} as a percentage, counting half of the
+     * score's own bin; the error is at most half that bin's share
+     */
+    double topPercent(double score) {
+        int bin = bin(score);
+        long above = 0;
+        long total = 0;
+        for (int i = 0; i < BINS; i++) {
+            long count = Math.max(0, counts[i]);
+            total += count;
+            if (i > bin) {
+                above += count;
+            }
+        }
+        if (total == 0) {
+            return 100.0;
+        }
+        double position = above + Math.max(1, Math.max(0, counts[bin])) / 2.0;
+        return Math.min(100.0, 100.0 * position / total);
+    }
+
+    long[] toArray() {
+        return counts.clone();
+    }
+
+    private static int bin(double score) {
+        double clamped = Math.max(0, Math.min(MAX_SCORE, score));
+        return (int) Math.round(clamped * BINS_PER_POINT);
+    }
+}
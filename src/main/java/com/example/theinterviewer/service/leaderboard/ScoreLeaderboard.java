@@ -0,0 +1,133 @@
+package com.example.theinterviewer.service.leaderboard;
+
+import com.example.theinterviewer.dto.dashboard.UserRankResponse;
+import com.example.theinterviewer.repository.InterviewReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory ranking of every user's latest completed interview score. Loaded
+ * with one aggregate query at startup and kept current as interviews complete,
+ * so a rank lookup is a hash lookup plus an O(log n) tree walk.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScoreLeaderboard {
+
+    private final InterviewReportRepository reportRepository;
+    private final ScoreSketchService scoreSketchService;
+
+    private final Map<Long, Double> latestScores = new HashMap<>();
+    private OrderStatisticTree tree = new OrderStatisticTree();
+    private boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        List<InterviewReportRepository.UserScore> scores = reportRepository.findLatestScorePerUser();
+
+        latestScores.clear();
+        tree = new OrderStatisticTree();
+        for (InterviewReportRepository.UserScore score : scores) {
+            put(score.getUserId(), score.getOverallScore());
+        }
+        loaded = true;
+
+        log.info("Leaderboard rebuilt with {} users in {} ms", latestScores.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    public synchronized UserRankResponse getRank(Long userId) {
+        ensureLoaded();
+        Double score = latestScores.get(userId);
+        if (score == null) {
+            return new UserRankResponse(0, tree.size(), 0.0, null);
+        }
+        return new UserRankResponse(tree.countGreater(score) + 1, tree.size(), score,
+                scoreSketchService.topPercent(score));
+    }
+
+    /**
+     * The user's current latest score as stored, read before a change so the
+     * score sketch can subtract it afterwards
+     */
+    public Double latestScore(Long userId) {
+        return reportRepository.findLatestScoreByUserId(userId)
+                .map(InterviewReportRepository.UserScore::getOverallScore)
+                .orElse(null);
+    }
+
+    /**
+     * Reloads one user's latest score after a report is written or changed.
+     * "Latest" is whatever findLatestScoreByUserId says (the most recently
+     * started completed interview), the same definition the rebuild uses.
+     * Inside a transaction the reload runs after commit, so a rollback never
+     * leaves a score behind.
+     */
+    public void refresh(Long userId, Double previous) {
+        afterCommit(() -> {
+            Double current = latestScore(userId);
+            if (current != null) {
+                apply(userId, current);
+            } else {
+                remove(userId);
+            }
+            scoreSketchService.replace(previous, current);
+        });
+    }
+
+    private synchronized void apply(Long userId, double score) {
+        if (loaded) {
+            put(userId, score);
+        }
+    }
+
+    private synchronized void remove(Long userId) {
+        Double previous = latestScores.remove(userId);
+        if (previous != null) {
+            tree.remove(previous, userId);
+        }
+    }
+
+    private void put(Long userId, double score) {
+        Double previous = latestScores.put(userId, score);
+        if (previous != null) {
+            tree.remove(previous, userId);
+        }
+        tree.insert(score, userId);
+    }
+
+    private void ensureLoaded() {
+        // Requests can arrive before the ready event has run
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
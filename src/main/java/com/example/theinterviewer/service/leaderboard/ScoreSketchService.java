@@ -0,0 +1,227 @@
+package com.example.theinterviewer.service.leaderboard;
+
+import com.example.theinterviewer.entity.ScoreSketch;
+import com.example.theinterviewer.repository.InterviewReportRepository;
+import com.example.theinterviewer.repository.ScoreSketchRepository;
+import com.example.theinterviewer.service.JobLeaseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Cluster-wide "top X%" percentiles without a shared exact structure. Each node
+ * keeps a histogram of the score changes it has seen and flushes it to its own
+ * row in score_sketches; every node periodically sums all rows into a merged
+ * view. A baseline row, built from the report tables, holds the history
+ * before any node started counting, and rows of nodes that stopped reporting
+ * are folded into it. Deltas a node had not flushed when it died are lost, so
+ * the baseline is rebuilt periodically and every node row reset, which bounds
+ * that drift to one rebuild interval.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ScoreSketchService {
+
+    private final ScoreSketchRepository sketchRepository;
+    private final InterviewReportRepository reportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${leaderboard.sketch.stale-node-hours:24}")
+    private long staleNodeHours;
+
+    @Value("${leaderboard.sketch.rebuild-interval-ms:21600000}")
+    private long rebuildIntervalMs;
+
+    private final String nodeId = nodeId();
+
+    // This node's changes since it started, and the last merged cluster view
+    private final ScoreHistogram local = new ScoreHistogram();
+    private volatile ScoreHistogram merged = new ScoreHistogram();
+    // Baseline generation the local deltas are relative to; -1 until first seen
+    private long localGeneration = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            if (!sketchRepository.existsById(ScoreSketch.BASELINE)) {
+                jobLeaseService.runExclusively("score-sketch-rebuild", Duration.ZERO, this::rebuildBaseline);
+            }
+            refresh();
+        } catch (Exception e) {
+            log.error("Failed to initialise score sketch: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces a user's latest score in the local histogram; either side may be
+     * null when the user had no score before or has none now
+     */
+    public void replace(Double previous, Double current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        synchronized (local) {
+            if (previous != null) {
+                local.add(previous, -1);
+            }
+            if (current != null) {
+                local.add(current, 1);
+            }
+        }
+    }
+
+    public double topPercent(double score) {
+        return Math.round(merged.topPercent(score) * 10) / 10.0;
+    }
+
+    public long totalUsers() {
+        return merged.total();
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.sketch.flush-interval-ms:30000}", initialDelay = 30000)
+    public void flushAndMerge() {
+        try {
+            // Flushing and merging are per node; folding stale rows needs only one node
+            flush();
+            jobLeaseService.runExclusively("score-sketch-compaction", Duration.ZERO, this::compactStaleNodes);
+            refresh();
+        } catch (Exception e) {
+            log.error("Score sketch sync failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rebuilds the baseline from the report tables and drops every node row,
+     * correcting deltas lost with dead nodes and anything counted twice
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.sketch.rebuild-interval-ms:21600000}",
+            initialDelayString = "${leaderboard.sketch.rebuild-interval-ms:21600000}")
+    public void rebuildPeriodically() {
+        try {
+            jobLeaseService.runExclusively("score-sketch-rebuild", Duration.ofMillis(rebuildIntervalMs * 9 / 10),
+                    this::rebuildBaseline);
+            refresh();
+        } catch (Exception e) {
+            log.error("Score sketch rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes this node's deltas under a lock on the baseline row, so a flush
+     * can't land between a rebuild's delete and its new baseline. When the
+     * baseline generation moved on, the deltas so far are already part of it
+     * and the local histogram starts over.
+     */
+    private void flush() {
+        transactionTemplate.executeWithoutResult(status -> {
+            long generation = sketchRepository.findForUpdate(ScoreSketch.BASELINE)
+                    .map(ScoreSketch::getGeneration)
+                    .orElse(0L);
+            long[] counts;
+            synchronized (local) {
+                if (localGeneration != generation) {
+                    if (localGeneration >= 0) {
+                        local.clear();
+                    }
+                    localGeneration = generation;
+                }
+                counts = local.toArray();
+            }
+            // Written on every run, even without changes, so updated_at doubles as a heartbeat
+            sketchRepository.save(new ScoreSketch(nodeId, counts, LocalDateTime.now(), generation));
+        });
+    }
+
+    private void refresh() {
+        ScoreHistogram sum = new ScoreHistogram();
+        for (ScoreSketch sketch : sketchRepository.findAll()) {
+            sum.merge(sketch.getCounts());
+        }
+        merged = sum;
+        log.debug("Merged score sketch: {} users", sum.total());
+    }
+
+    /**
+     * Folds rows of nodes that stopped flushing into the baseline. The delete
+     * decides which node folds a row, so concurrent compactions can't double count
+     */
+    private void compactStaleNodes() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(staleNodeHours);
+        List<ScoreSketch> stale = sketchRepository.findByUpdatedAtBeforeAndNodeIdNot(cutoff, ScoreSketch.BASELINE);
+        for (ScoreSketch sketch : stale) {
+            transactionTemplate.executeWithoutResult(status -> {
+                ScoreSketch baseline = sketchRepository.findForUpdate(ScoreSketch.BASELINE).orElse(null);
+                if (baseline == null || sketchRepository.deleteNode(sketch.getNodeId()) == 0) {
+                    return;
+                }
+                if (sketch.getGeneration() != baseline.getGeneration()) {
+                    // Written before the last rebuild, which already counts its changes
+                    return;
+                }
+                ScoreHistogram folded = new ScoreHistogram(baseline.getCounts());
+                folded.merge(sketch.getCounts());
+                baseline.setCounts(folded.toArray());
+                baseline.setUpdatedAt(LocalDateTime.now());
+                sketchRepository.save(baseline);
+                log.info("Folded score sketch of stale node {} into baseline", sketch.getNodeId());
+            });
+        }
+    }
+
+    /**
+     * Replaces the baseline with the latest score of every user and deletes all
+     * node rows in one transaction. The report query reads after the baseline
+     * lock is taken, so only changes a node records between that read and its
+     * next flush are missed, until the following rebuild.
+     */
+    private void rebuildBaseline() {
+        try {
+            sketchRepository.insertIfAbsent(ScoreSketch.BASELINE,
+                    objectMapper.writeValueAsString(new ScoreHistogram().toArray()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to create score sketch baseline", e);
+        }
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            ScoreSketch baseline = sketchRepository.findForUpdate(ScoreSketch.BASELINE).orElseThrow();
+            ScoreHistogram rebuilt = new ScoreHistogram();
+            for (InterviewReportRepository.UserScore score : reportRepository.findLatestScorePerUser()) {
+                rebuilt.add(score.getOverallScore(), 1);
+            }
+            int dropped = sketchRepository.deleteAllNodesExcept(ScoreSketch.BASELINE);
+            baseline.setCounts(rebuilt.toArray());
+            baseline.setGeneration(baseline.getGeneration() + 1);
+            baseline.setUpdatedAt(LocalDateTime.now());
+            sketchRepository.save(baseline);
+            log.info("Rebuilt score sketch baseline with {} users, dropped {} node rows in {} ms",
+                    rebuilt.total(), dropped, System.currentTimeMillis() - start);
+        });
+    }
+
+    private static String nodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        String id = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return id.length() > 64 ? id.substring(id.length() - 64) : id;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.theinterviewer.service.storage;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Azure Blob Storage backend. Uploads are split into blocks that are staged
+ * concurrently and committed as one block blob. Works against Azurite for
+ * local runs ({@code azure.storage.connection-string=UseDevelopmentStorage=true}).
+ */
+@Service
+@ConditionalOnProperty(name = "file.upload.storage-type", havingValue = "azure")
+@Slf4j
+public class AzureBlobStorage implements BlobStorage {
+
+    @Value("${azure.storage.connection-string}")
+    private String connectionString;
+
+    @Value("${azure.storage.container:resumes}")
+    private String containerName;
+
+    @Value("${azure.storage.block-size-bytes:4194304}")
+    private long blockSizeBytes;
+
+    @Value("${azure.storage.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${azure.storage.upload-timeout-seconds:120}")
+    private long uploadTimeoutSeconds;
+
+    private BlobContainerClient containerClient;
+
+    @PostConstruct
+    public void init() {
+        containerClient = new BlobServiceClientBuilder()
+                .connectionString(connectionString)
+                .buildClient()
+                .getBlobContainerClient(containerName);
+        containerClient.createIfNotExists();
+        log.info("Azure blob storage ready: container {}", containerName);
+    }
+
+    @Override
+    public StoredBlob store(InputStream content, long size, String fileName) throws IOException {
+        // The hash is only known once the upload finishes, so blobs are keyed by UUID here
+        String key = UUID.randomUUID() + "/" + fileName;
+        BlobClient blobClient = containerClient.getBlobClient(key);
+
+        MessageDigest digest = ContentHashUtils.newSha256();
+        ParallelTransferOptions transferOptions = new ParallelTransferOptions()
+                .setBlockSizeLong(blockSizeBytes)
+                .setMaxSingleUploadSizeLong(blockSizeBytes)
+                .setMaxConcurrency(maxConcurrency);
+
+        try (InputStream in = new DigestInputStream(content, digest)) {
+            blobClient.uploadWithResponse(
+                    new BlobParallelUploadOptions(in)
+                            .setParallelTransferOptions(transferOptions)
+                            .setHeaders(new BlobHttpHeaders().setContentType(contentType(fileName))),
+                    Duration.ofSeconds(uploadTimeoutSeconds),
+                    Context.NONE);
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to upload blob " + key + ": " + e.getMessage(), e);
+        }
+
+        log.info("Uploaded blob {} ({} bytes)", key, size);
+
+        return new StoredBlob(key, ContentHashUtils.toHex(digest), size);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return containerClient.getBlobClient(key).openInputStream();
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to open blob " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Resource asResource(String key) {
+        return new BlobResource(containerClient.getBlobClient(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            containerClient.getBlobClient(key).deleteIfExists();
+            log.info("Blob deleted: {}", key);
+        } catch (RuntimeException e) {
+            log.error("Error deleting blob: {}", key, e);
+        }
+    }
+
+    private String contentType(String fileName) {
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".pdf")) {
+            return "application/pdf";
+        }
+        if (lower.endsWith(".docx")) {
+            return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        }
+        return "application/octet-stream";
+    }
+
+    /**
+     * Reads blob properties once so length/last-modified don't cost a round trip each
+     */
+    private static final class BlobResource extends AbstractResource {
+
+        private final BlobClient blobClient;
+        private BlobProperties properties;
+
+        private BlobResource(BlobClient blobClient) {
+            this.blobClient = blobClient;
+        }
+
+        @Override
+        public boolean exists() {
+            return blobClient.exists();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return properties().getBlobSize();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return properties().getLastModified().toInstant().toEpochMilli();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            try {
+                return blobClient.openInputStream();
+            } catch (RuntimeException e) {
+                throw new IOException("Failed to open blob " + blobClient.getBlobName(), e);
+            }
+        }
+
+        @Override
+        public String getFilename() {
+            return blobClient.getBlobName();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Azure blob [" + blobClient.getBlobUrl() + "]";
+        }
+
+        private BlobProperties properties() throws IOException {
+            if (properties == null) {
+                try {
+                    properties = blobClient.getProperties();
+                } catch (RuntimeException e) {
+                    throw new IOException("Failed to read blob properties " + blobClient.getBlobName(), e);
+                }
+            }
+            return properties;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.theinterviewer.service.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Storage for uploaded resume files. The returned key is what gets persisted
+ * as {@code Resume.fileUrl}; selected with {@code file.upload.storage-type}.
+ */
+public interface BlobStorage {
+
+    /**
+     * Streams the content into storage, hashing it on the way through
+     */
+    StoredBlob store(InputStream content, long size, String fileName) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * The blob as a Spring {@link Resource} reporting its length and last-modified
+     * time, so MVC can serve byte ranges without buffering the file
+     */
+    Resource asResource(String key);
+
+    /**
+     * The blob as a file on local disk, when the backend has one; lets the
+     * parser open PDFs in place instead of copying them to a scratch file
+     */
+    default Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Keys may be shared between resumes in content-addressed stores,
+     * so only delete a key nothing else references
+     */
+    void delete(String key);
+
+    /**
+     * Whether identical content always maps to the same key
+     */
+    default boolean isContentAddressed() {
+        return false;
+    }
+
+    record StoredBlob(String key, String sha256, long size) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.theinterviewer.service.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * SHA-256 helpers used to recognise re-uploads of the same resume.
+ */
+public final class ContentHashUtils {
+
+    private ContentHashUtils() {
+    }
+
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hash of the parsed text after collapsing whitespace and case, so the same
+     * resume exported twice (different PDF bytes, same content) still matches
+     */
+    public static String textHash(String parsedText) {
+        if (parsedText == null) {
+            return null;
+        }
+        String normalized = parsedText.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+        MessageDigest digest = newSha256();
+        digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+        return toHex(digest);
+    }
+}
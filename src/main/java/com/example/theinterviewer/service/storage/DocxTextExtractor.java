@@ -0,0 +1,194 @@
+package com.example.theinterviewer.service.storage;
+
+import com.example.theinterviewer.exception.InvalidFileException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Streams the text out of a DOCX without building a POI document model.
+ * Only word/document.xml is read, event by event, so memory stays bounded by
+ * the extracted text rather than by the size of the package. Paragraphs become
+ * lines and table cells are joined with " | " so skills tables survive.
+ */
+@Slf4j
+public final class DocxTextExtractor {
+
+    private static final String DOCUMENT_PART = "word/document.xml";
+    private static final String WORDML_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private DocxTextExtractor() {
+    }
+
+    /**
+     * @param maxChars         extraction stops once this many characters have been collected
+     * @param maxInflatedBytes cap on the bytes actually inflated, across all parts read;
+     *                         the sizes the zip declares are chosen by the uploader
+     */
+    public static String extract(InputStream docxStream, int maxChars, long maxInflatedBytes) throws IOException {
+        ZipInputStream zip = new ZipInputStream(docxStream);
+        InflationLimit entryData = new InflationLimit(zip, maxInflatedBytes);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (DOCUMENT_PART.equals(entry.getName())) {
+                return extractDocumentXml(entryData, maxChars);
+            }
+            // Inflate parts before the document through the counter, not unseen in getNextEntry
+            entryData.drain();
+        }
+        throw new InvalidFileException("DOCX file is missing " + DOCUMENT_PART);
+    }
+
+    private static String extractDocumentXml(InputStream xml, int maxChars) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int tableDepth = 0;
+        int runDepth = 0;
+        boolean inText = false;
+
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(xml);
+            while (reader.hasNext() && text.length() < maxChars) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && WORDML_NS.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = true;
+                        case "r" -> runDepth++;
+                        // Only run content; w:tab under w:pPr/w:tabs is a tab-stop definition
+                        case "tab" -> {
+                            if (runDepth > 0) {
+                                text.append('\t');
+                            }
+                        }
+                        case "br", "cr" -> {
+                            if (runDepth > 0) {
+                                text.append('\n');
+                            }
+                        }
+                        case "tbl" -> tableDepth++;
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && WORDML_NS.equals(reader.getNamespaceURI())) {
+                    switch (reader.getLocalName()) {
+                        case "t" -> inText = false;
+                        case "r" -> runDepth--;
+                        // Paragraphs inside a cell are kept on the cell's line
+                        case "p" -> text.append(tableDepth > 0 ? ' ' : '\n');
+                        case "tc" -> {
+                            trimTrailingSpaces(text);
+                            text.append(" | ");
+                        }
+                        case "tr" -> {
+                            trimTrailingSpaces(text);
+                            if (text.length() >= 1 && text.charAt(text.length() - 1) == '|') {
+                                text.setLength(text.length() - 1);
+                                trimTrailingSpaces(text);
+                            }
+                            text.append('\n');
+                        }
+                        case "tbl" -> tableDepth--;
+                        default -> {
+                        }
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                    text.append(reader.getText());
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new InvalidFileException("DOCX file is corrupted or invalid: " + e.getMessage());
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    log.warn("Error closing DOCX reader: {}", e.getMessage());
+                }
+            }
+        }
+
+        if (text.length() > maxChars) {
+            text.setLength(maxChars);
+        }
+        return text.toString().trim();
+    }
+
+    private static void trimTrailingSpaces(StringBuilder text) {
+        while (!text.isEmpty() && text.charAt(text.length() - 1) == ' ') {
+            text.setLength(text.length() - 1);
+        }
+    }
+
+    /**
+     * Counts bytes read from the current zip entry and fails once the total
+     * passes the cap
+     */
+    private static final class InflationLimit extends FilterInputStream {
+        private final long maxBytes;
+        private long inflated;
+
+        InflationLimit(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        void drain() throws IOException {
+            byte[] buffer = new byte[8192];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // discard
+            }
+        }
+
+        private void count(int bytes) {
+            inflated += bytes;
+            if (inflated > maxBytes) {
+                throw new InvalidFileException("DOCX file expands beyond the allowed size");
+            }
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Resumes are untrusted input - no DTDs or external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
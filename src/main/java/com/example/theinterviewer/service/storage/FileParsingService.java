@@ -1,44 +1,270 @@
 package com.example.theinterviewer.service.storage;
 
 import com.example.theinterviewer.exception.InvalidFileException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.openxml4j.util.ZipSecureFile;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 @Service
 @Slf4j
 public class FileParsingService {
 
+    @Value("${file.parsing.docx.streaming:true}")
+    private boolean docxStreaming;
+
+    @Value("${file.parsing.pdf.streaming:true}")
+    private boolean pdfStreaming;
+
+    @Value("${file.parsing.pdf.max-main-memory-bytes:4194304}")
+    private long pdfMaxMainMemoryBytes;
+
+    @Value("${file.parsing.scratch-directory:${java.io.tmpdir}}")
+    private String scratchDirectory;
+
+    @Value("${file.parsing.max-pages:20}")
+    private int maxPages;
+
+    @Value("${file.parsing.pdf.max-document-pages:100}")
+    private int maxDocumentPages;
+
+    @Value("${file.parsing.max-chars:50000}")
+    private int maxChars;
+
+    // Same cap the upload check applies to the declared sizes, here on bytes actually inflated
+    @Value("${file.upload.docx.max-uncompressed-bytes:52428800}")
+    private long maxDocxInflatedBytes;
+
+    @Value("${file.parsing.pdf.parallel-threshold-pages:8}")
+    private int parallelThresholdPages;
+
+    @Value("${file.parsing.pdf.pages-per-task:4}")
+    private int pagesPerTask;
+
+    @Value("${file.parsing.pdf.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool parallelPool;
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        parallelPool = new ForkJoinPool(threads);
+        // The POI DOM path checks entry sizes while inflating (inflate ratio is checked by default)
+        ZipSecureFile.setMaxEntrySize(maxDocxInflatedBytes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parallelPool.shutdownNow();
+    }
+
     public String parseResume(MultipartFile file) {
         String filename = file.getOriginalFilename();
         if (filename == null) {
             throw new InvalidFileException("Invalid filename");
         }
 
-        String extension = getFileExtension(filename);
+        try (InputStream inputStream = file.getInputStream()) {
+            return parseStream(inputStream, filename);
+        } catch (IOException e) {
+            log.error("Error parsing file: {}", filename, e);
+            throw new InvalidFileException("Failed to parse file: " + e.getMessage());
+        }
+    }
 
+    /**
+     * Parses a resume that has already been persisted to storage
+     * (used by the async ingestion pipeline, after the multipart request is gone)
+     */
+    public String parseResume(Path storedFile, String filename) {
         try {
-            if ("pdf".equalsIgnoreCase(extension)) {
-                return parsePdf(file.getInputStream());
-            } else if ("docx".equalsIgnoreCase(extension)) {
-                return parseDocx(file.getInputStream());
-            } else {
-                throw new InvalidFileException("Unsupported file format: " + extension);
+            // Stored PDFs can be opened in place - no need to copy them to a scratch file
+            if (pdfStreaming && "pdf".equalsIgnoreCase(getFileExtension(filename))) {
+                return parsePdf(storedFile);
             }
+            try (InputStream inputStream = Files.newInputStream(storedFile)) {
+                return parseStream(inputStream, filename);
+            }
+        } catch (IOException e) {
+            log.error("Error parsing stored file: {}", storedFile, e);
+            throw new InvalidFileException("Failed to parse file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a resume streamed from remote blob storage
+     */
+    public String parseResume(InputStream inputStream, String filename) {
+        try {
+            return parseStream(inputStream, filename);
         } catch (IOException e) {
             log.error("Error parsing file: {}", filename, e);
             throw new InvalidFileException("Failed to parse file: " + e.getMessage());
         }
     }
 
+    private String parseStream(InputStream inputStream, String filename) throws IOException {
+        String extension = getFileExtension(filename);
+
+        if ("pdf".equalsIgnoreCase(extension)) {
+            return pdfStreaming ? parsePdfViaScratchFile(inputStream) : parsePdf(inputStream);
+        } else if ("docx".equalsIgnoreCase(extension)) {
+            return parseDocx(inputStream);
+        } else {
+            throw new InvalidFileException("Unsupported file format: " + extension);
+        }
+    }
+
+    /**
+     * Spills the upload to a temp file so PDFBox can read it through a buffered
+     * random-access file instead of holding the whole document in heap
+     */
+    private String parsePdfViaScratchFile(InputStream inputStream) throws IOException {
+        Path scratchDir = Paths.get(scratchDirectory);
+        Files.createDirectories(scratchDir);
+        Path tempFile = Files.createTempFile(scratchDir, "resume-", ".pdf");
+        try {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return parsePdf(tempFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private String parsePdf(Path pdfFile) throws IOException {
+        // Keep at most pdfMaxMainMemoryBytes of PDFBox stream data in heap, spill the rest to scratch files
+        MemoryUsageSetting memoryUsage = MemoryUsageSetting.setupMixed(pdfMaxMainMemoryBytes)
+                .setTempDir(Paths.get(scratchDirectory).toFile());
+
+        PDDocument document;
+        try {
+            document = loadPdf(pdfFile, memoryUsage);
+        } catch (Exception e) {
+            throw new InvalidFileException("PDF file is corrupted or invalid: " + e.getMessage());
+        }
+
+        int pageCount;
+        try (document) {
+            checkPageCount(document);
+            pageCount = Math.min(document.getNumberOfPages(), maxPages);
+            if (pageCount < parallelThresholdPages || parallelPool.getParallelism() < 2) {
+                return extractPdfText(document);
+            }
+        }
+
+        return extractPdfTextParallel(pdfFile, pageCount);
+    }
+
+    /**
+     * Splits large documents into page ranges and extracts them concurrently.
+     * PDDocument isn't thread-safe, so every range opens its own (cheap,
+     * file-backed) document; results are joined back in page order. Ranges run
+     * one wave of pool-parallelism at a time, so extraction stops after the
+     * wave that reaches maxChars.
+     */
+    private String extractPdfTextParallel(Path pdfFile, int pageCount) throws IOException {
+        List<int[]> ranges = new ArrayList<>();
+        for (int start = 1; start <= pageCount; start += pagesPerTask) {
+            ranges.add(new int[] { start, Math.min(start + pagesPerTask - 1, pageCount) });
+        }
+
+        log.debug("Extracting {} pages in {} parallel ranges", pageCount, ranges.size());
+
+        StringBuilder text = new StringBuilder();
+        int waveSize = parallelPool.getParallelism();
+        for (int i = 0; i < ranges.size() && text.length() < maxChars; i += waveSize) {
+            List<int[]> wave = ranges.subList(i, Math.min(i + waveSize, ranges.size()));
+            for (String part : extractRanges(pdfFile, wave)) {
+                text.append(part);
+            }
+        }
+
+        if (text.length() > maxChars) {
+            text.setLength(maxChars);
+        }
+
+        String result = text.toString().trim();
+        if (result.isEmpty()) {
+            throw new InvalidFileException("PDF file appears to be empty or unreadable");
+        }
+
+        return result;
+    }
+
+    private List<String> extractRanges(Path pdfFile, List<int[]> ranges) throws IOException {
+        try {
+            return parallelPool.submit(() -> ranges.parallelStream()
+                    .map(range -> extractPageRange(pdfFile, range[0], range[1]))
+                    .toList())
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF parsing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InvalidFileException invalidFile) {
+                throw invalidFile;
+            }
+            if (e.getCause() instanceof UncheckedIOException uncheckedIO) {
+                throw uncheckedIO.getCause();
+            }
+            throw new IOException("Failed to extract PDF text: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * The loaded document owns the file handle and closes it; if loading fails
+     * (corrupt or encrypted file) the handle is closed here instead
+     */
+    private PDDocument loadPdf(Path pdfFile, MemoryUsageSetting memoryUsage) throws IOException {
+        RandomAccessReadBufferedFile source = new RandomAccessReadBufferedFile(pdfFile.toFile());
+        try {
+            return Loader.loadPDF(source, memoryUsage.streamCache);
+        } catch (IOException | RuntimeException e) {
+            try {
+                source.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
+    private String extractPageRange(Path pdfFile, int startPage, int endPage) {
+        MemoryUsageSetting memoryUsage = MemoryUsageSetting.setupMixed(pdfMaxMainMemoryBytes)
+                .setTempDir(Paths.get(scratchDirectory).toFile());
+        try (PDDocument document = loadPdf(pdfFile, memoryUsage)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(endPage);
+            return stripper.getText(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private String parsePdf(InputStream inputStream) throws IOException {
         PDDocument document = null;
         try {
@@ -46,21 +272,15 @@ public class FileParsingService {
 
             // Try lenient loading for corrupted PDFs
             try {
-                document = org.apache.pdfbox.Loader.loadPDF(pdfBytes);
+                document = Loader.loadPDF(pdfBytes);
             } catch (Exception e) {
                 log.warn("Failed to load PDF with strict mode, trying lenient mode: {}", e.getMessage());
                 // If strict loading fails, the PDF might be corrupted
                 throw new InvalidFileException("PDF file is corrupted or invalid: " + e.getMessage());
             }
 
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
-
-            if (text == null || text.trim().isEmpty()) {
-                throw new InvalidFileException("PDF file appears to be empty or unreadable");
-            }
-
-            return text.trim();
+            checkPageCount(document);
+            return extractPdfText(document);
         } finally {
             if (document != null) {
                 try {
@@ -72,7 +292,65 @@ public class FileParsingService {
         }
     }
 
+    /**
+     * Loading only reads the xref and page tree, so this rejects giant documents
+     * before any content stream is decoded
+     */
+    private void checkPageCount(PDDocument document) {
+        int pages = document.getNumberOfPages();
+        if (pages > maxDocumentPages) {
+            throw new InvalidFileException(
+                    "PDF has too many pages (" + pages + "), maximum allowed is " + maxDocumentPages);
+        }
+    }
+
+    /**
+     * Extracts text a few pages at a time, honouring the page cap and stopping
+     * as soon as we have more text than the prompts can use
+     */
+    private String extractPdfText(PDDocument document) throws IOException {
+        int lastPage = Math.min(document.getNumberOfPages(), maxPages);
+        if (document.getNumberOfPages() > maxPages) {
+            log.info("PDF has {} pages, extracting only the first {}", document.getNumberOfPages(), maxPages);
+        }
+
+        PDFTextStripper stripper = new PDFTextStripper();
+        StringBuilder text = new StringBuilder();
+        for (int page = 1; page <= lastPage && text.length() < maxChars; page += pagesPerTask) {
+            stripper.setStartPage(page);
+            stripper.setEndPage(Math.min(page + pagesPerTask - 1, lastPage));
+            text.append(stripper.getText(document));
+        }
+
+        if (text.length() > maxChars) {
+            text.setLength(maxChars);
+        }
+
+        String result = text.toString().trim();
+        if (result.isEmpty()) {
+            throw new InvalidFileException("PDF file appears to be empty or unreadable");
+        }
+
+        return result;
+    }
+
     private String parseDocx(InputStream inputStream) throws IOException {
+        long startTime = System.nanoTime();
+        String result = docxStreaming ? parseDocxStreaming(inputStream) : parseDocxDom(inputStream);
+        log.debug("DOCX extracted ({} mode) in {}ms, {} chars", docxStreaming ? "streaming" : "dom",
+                (System.nanoTime() - startTime) / 1_000_000, result.length());
+        return result;
+    }
+
+    private String parseDocxStreaming(InputStream inputStream) throws IOException {
+        String result = DocxTextExtractor.extract(inputStream, maxChars, maxDocxInflatedBytes);
+        if (result.isEmpty()) {
+            throw new InvalidFileException("DOCX file appears to be empty or unreadable");
+        }
+        return result;
+    }
+
+    private String parseDocxDom(InputStream inputStream) throws IOException {
         try (XWPFDocument document = new XWPFDocument(inputStream)) {
             List<XWPFParagraph> paragraphs = document.getParagraphs();
             StringBuilder text = new StringBuilder();
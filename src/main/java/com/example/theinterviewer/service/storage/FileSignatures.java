@@ -0,0 +1,139 @@
+package com.example.theinterviewer.service.storage;
+
+import com.example.theinterviewer.exception.InvalidFileException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cheap content checks on the first/last few KB of an upload, so junk and
+ * hostile files are rejected before they reach PDFBox or the zip reader.
+ */
+final class FileSignatures {
+
+    private static final byte[] PDF_HEADER = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PDF_EOF = "%%EOF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int ZIP_LOCAL_HEADER_SIG = 0x04034b50;
+    private static final int ZIP_CENTRAL_HEADER_SIG = 0x02014b50;
+    private static final int ZIP_END_OF_CENTRAL_DIR_SIG = 0x06054b50;
+    private static final int ZIP_END_OF_CENTRAL_DIR_SIZE = 22;
+    private static final int ZIP_CENTRAL_HEADER_SIZE = 46;
+
+    private static final String DOCX_DOCUMENT_PART = "word/document.xml";
+    private static final String OOXML_CONTENT_TYPES = "[Content_Types].xml";
+
+    // Small entries compress extremely well legitimately; only judge the ratio on big ones
+    private static final long RATIO_CHECK_MIN_BYTES = 1024 * 1024;
+
+    private FileSignatures() {
+    }
+
+    /**
+     * The spec allows junk before the header, but it must appear within the first 1KB
+     */
+    static boolean looksLikePdf(byte[] head, byte[] tail) {
+        return indexOf(head, PDF_HEADER, 1024) >= 0 && indexOf(tail, PDF_EOF, tail.length) >= 0;
+    }
+
+    static boolean isZip(byte[] head) {
+        return head.length >= 4 && readInt(head, 0) == ZIP_LOCAL_HEADER_SIG;
+    }
+
+    /**
+     * Validates an OOXML word document from the zip central directory, which
+     * lives in the file's tail. Declared sizes are enough to spot zip bombs
+     * without inflating anything.
+     *
+     * @param tail the last bytes of the file; must contain the whole central directory
+     */
+    static void checkDocxStructure(byte[] tail, int maxEntries, long maxUncompressedBytes, int maxCompressionRatio) {
+        ByteBuffer buffer = ByteBuffer.wrap(tail).order(ByteOrder.LITTLE_ENDIAN);
+
+        int eocd = findEndOfCentralDirectory(buffer);
+        if (eocd < 0) {
+            throw new InvalidFileException("DOCX file is corrupted or invalid");
+        }
+
+        int totalEntries = Short.toUnsignedInt(buffer.getShort(eocd + 10));
+        long centralDirSize = Integer.toUnsignedLong(buffer.getInt(eocd + 12));
+        long centralDirOffset = Integer.toUnsignedLong(buffer.getInt(eocd + 16));
+        if (totalEntries == 0xFFFF || centralDirOffset == 0xFFFFFFFFL) {
+            throw new InvalidFileException("DOCX file is too large or uses an unsupported zip format");
+        }
+        if (totalEntries > maxEntries) {
+            throw new InvalidFileException("DOCX file contains too many parts");
+        }
+        if (centralDirSize > eocd) {
+            throw new InvalidFileException("DOCX file is corrupted or invalid");
+        }
+
+        boolean hasDocument = false;
+        boolean hasContentTypes = false;
+        long totalUncompressed = 0;
+        int position = eocd - (int) centralDirSize;
+
+        for (int i = 0; i < totalEntries; i++) {
+            if (position + ZIP_CENTRAL_HEADER_SIZE > eocd || buffer.getInt(position) != ZIP_CENTRAL_HEADER_SIG) {
+                throw new InvalidFileException("DOCX file is corrupted or invalid");
+            }
+
+            long compressed = Integer.toUnsignedLong(buffer.getInt(position + 20));
+            long uncompressed = Integer.toUnsignedLong(buffer.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+            if (position + ZIP_CENTRAL_HEADER_SIZE + nameLength > eocd) {
+                throw new InvalidFileException("DOCX file is corrupted or invalid");
+            }
+
+            String name = new String(tail, position + ZIP_CENTRAL_HEADER_SIZE, nameLength, StandardCharsets.UTF_8);
+            hasDocument |= DOCX_DOCUMENT_PART.equals(name);
+            hasContentTypes |= OOXML_CONTENT_TYPES.equals(name);
+
+            totalUncompressed += uncompressed;
+            if (totalUncompressed > maxUncompressedBytes) {
+                throw new InvalidFileException("DOCX file expands beyond the allowed size");
+            }
+            if (uncompressed > RATIO_CHECK_MIN_BYTES && uncompressed > compressed * maxCompressionRatio) {
+                throw new InvalidFileException("DOCX file has a suspicious compression ratio");
+            }
+
+            position += ZIP_CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        if (!hasDocument || !hasContentTypes) {
+            throw new InvalidFileException("File is not a valid Word document");
+        }
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer buffer) {
+        // The record is followed by an optional comment of up to 64KB
+        int lowest = Math.max(0, buffer.limit() - ZIP_END_OF_CENTRAL_DIR_SIZE - 0xFFFF);
+        for (int i = buffer.limit() - ZIP_END_OF_CENTRAL_DIR_SIZE; i >= lowest; i--) {
+            if (buffer.getInt(i) == ZIP_END_OF_CENTRAL_DIR_SIG) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ByteBuffer.wrap(bytes, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int searchLimit) {
+        int end = Math.min(data.length, searchLimit) - pattern.length;
+        outer:
+        for (int i = 0; i <= end; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -17,8 +19,22 @@ public class FileValidationService {
     @Value("${spring.servlet.multipart.max-file-size}")
     private String maxFileSizeStr;
 
+    @Value("${file.upload.docx.max-entries:1000}")
+    private int maxDocxEntries;
+
+    @Value("${file.upload.docx.max-uncompressed-bytes:52428800}")
+    private long maxDocxUncompressedBytes;
+
+    @Value("${file.upload.docx.max-compression-ratio:100}")
+    private int maxDocxCompressionRatio;
+
     private static final long MAX_FILE_SIZE_BYTES = 10 * 1024 * 1024; // 10MB
 
+    private static final int HEAD_PROBE_BYTES = 1024;
+    private static final int PDF_TAIL_PROBE_BYTES = 2048;
+    // Large enough for the central directory of any sane resume plus a max-length zip comment
+    private static final int ZIP_TAIL_PROBE_BYTES = 128 * 1024;
+
     public void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new InvalidFileException("File is empty");
@@ -55,6 +71,49 @@ public class FileValidationService {
         if (!isValidContentType) {
             throw new InvalidFileException("Invalid file content type");
         }
+
+        // Extension and Content-Type are client-supplied - check the bytes themselves
+        verifySignature(file, extension.toLowerCase());
+    }
+
+    /**
+     * Sniffs only the head and tail of the upload: the PDF header/trailer, or the
+     * zip central directory for DOCX (entry count, declared sizes, required parts).
+     */
+    private void verifySignature(MultipartFile file, String extension) {
+        try {
+            byte[] head = readHead(file, HEAD_PROBE_BYTES);
+
+            if ("pdf".equals(extension)) {
+                if (!FileSignatures.looksLikePdf(head, readTail(file, PDF_TAIL_PROBE_BYTES))) {
+                    throw new InvalidFileException("File content is not a valid PDF");
+                }
+            } else if ("docx".equals(extension)) {
+                if (!FileSignatures.isZip(head)) {
+                    throw new InvalidFileException("File content is not a valid Word document");
+                }
+                FileSignatures.checkDocxStructure(readTail(file, ZIP_TAIL_PROBE_BYTES),
+                        maxDocxEntries, maxDocxUncompressedBytes, maxDocxCompressionRatio);
+            }
+        } catch (IOException e) {
+            throw new InvalidFileException("Unable to read uploaded file");
+        }
+    }
+
+    private byte[] readHead(MultipartFile file, int length) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return in.readNBytes(length);
+        }
+    }
+
+    private byte[] readTail(MultipartFile file, int length) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            long skip = file.getSize() - length;
+            if (skip > 0) {
+                in.skipNBytes(skip);
+            }
+            return in.readNBytes(length);
+        }
     }
 
     public String sanitizeFileName(String filename) {
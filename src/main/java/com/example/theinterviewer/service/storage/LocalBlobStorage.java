@@ -0,0 +1,132 @@
+package com.example.theinterviewer.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store on local disk. Blobs live at {@code ab/cd/<sha256>}
+ * under the upload directory, so no single directory grows hot and identical
+ * uploads share one file. Writes go to a temp file that is fsynced and then
+ * atomically moved into place.
+ */
+@Service
+@ConditionalOnProperty(name = "file.upload.storage-type", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalBlobStorage implements BlobStorage {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}");
+    private static final String INCOMING_DIR = ".incoming";
+
+    @Value("${file.upload.local-directory}")
+    private String uploadDirectory;
+
+    @Override
+    public StoredBlob store(InputStream content, long size, String fileName) throws IOException {
+        Path root = Paths.get(uploadDirectory);
+        Path incoming = Files.createDirectories(root.resolve(INCOMING_DIR));
+        Path tempFile = incoming.resolve(UUID.randomUUID().toString());
+
+        MessageDigest digest = ContentHashUtils.newSha256();
+        long written;
+        try (InputStream in = new DigestInputStream(content, digest);
+                FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            written = in.transferTo(out);
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        String sha256 = ContentHashUtils.toHex(digest);
+        String key = sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+        Path target = root.resolve(key);
+        Path shard = Files.createDirectories(target.getParent());
+
+        try {
+            if (Files.exists(target)) {
+                log.info("Blob {} already stored, reusing it for {}", key, fileName);
+            } else {
+                // Same bytes under the same name, so a concurrent writer winning the race is harmless
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                fsyncDirectory(shard);
+                log.info("Stored blob {} ({} bytes) for {}", key, written, fileName);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        return new StoredBlob(key, sha256, written);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Resource asResource(String key) {
+        // FileSystemResource reads through a FileChannel
+        return new FileSystemResource(resolve(key));
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+            log.info("Blob deleted: {}", key);
+        } catch (IOException e) {
+            log.error("Error deleting blob: {}", key, e);
+        }
+    }
+
+    @Override
+    public boolean isContentAddressed() {
+        return true;
+    }
+
+    /**
+     * Resumes uploaded before the content-addressed layout stored a plain file path
+     */
+    private Path resolve(String key) {
+        if (KEY_PATTERN.matcher(key).matches()) {
+            return Paths.get(uploadDirectory).resolve(key);
+        }
+        return Paths.get(key);
+    }
+
+    private void fsyncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the file itself is already synced
+            log.debug("Could not fsync directory {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -1,56 +0,0 @@
-package com.example.theinterviewer.service.storage;
-
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
-
-@Service
-@Slf4j
-public class LocalFileStorageService {
-
-    @Value("${file.upload.local-directory}")
-    private String uploadDirectory;
-
-    public String uploadFile(MultipartFile file, String sanitizedFilename) throws IOException {
-        // Create upload directory if it doesn't exist
-        Path uploadPath = Paths.get(uploadDirectory);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
-        // Generate unique filename
-        String uniqueFilename = UUID.randomUUID().toString() + "_" + sanitizedFilename;
-        Path filePath = uploadPath.resolve(uniqueFilename);
-
-        // Save file
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        log.info("File uploaded successfully: {}", uniqueFilename);
-
-        return filePath.toString();
-    }
-
-    public void deleteFile(String filePath) {
-        try {
-            Path path = Paths.get(filePath);
-            Files.deleteIfExists(path);
-            log.info("File deleted successfully: {}", filePath);
-        } catch (IOException e) {
-            log.error("Error deleting file: {}", filePath, e);
-        }
-    }
-
-    public String getFileUrl(String filePath) {
-        // For local storage, return the file path
-        // In production with Azure Blob Storage, this would return a public URL
-        return filePath;
-    }
-}
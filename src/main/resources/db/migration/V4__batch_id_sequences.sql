@@ -0,0 +1,22 @@
+-- Pooled id generators for high-volume tables (replaces AUTO_INCREMENT ids so
+-- Hibernate can batch inserts). MySQL has no sequences, so Hibernate emulates
+-- them with single-row tables and hands ids out in blocks of the entity's
+-- allocationSize (50). Seed each one past the current MAX(id) so new
+-- ids never collide with rows inserted under the old IDENTITY strategy.
+
+CREATE TABLE IF NOT EXISTS interview_questions_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS credit_transactions_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS ai_usage_logs_seq (next_val BIGINT);
+
+DELETE FROM interview_questions_seq;
+DELETE FROM credit_transactions_seq;
+DELETE FROM ai_usage_logs_seq;
+
+INSERT INTO interview_questions_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM interview_questions;
+
+INSERT INTO credit_transactions_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM credit_transactions;
+
+INSERT INTO ai_usage_logs_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM ai_usage_logs;
@@ -0,0 +1,4 @@
+-- Async resume ingestion: the processing_status / failure_reason columns are
+-- added by Hibernate (ddl-auto=update). Resumes uploaded before the pipeline
+-- existed were parsed synchronously, so mark them as PARSED.
+UPDATE resumes SET processing_status = 'PARSED' WHERE processing_status IS NULL;
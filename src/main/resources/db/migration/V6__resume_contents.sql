@@ -0,0 +1,12 @@
+-- Parsed resume text moves out of resumes into resume_contents (keyed by resume id)
+-- so resume lookups and lists no longer read LONGTEXT. Copy existing text across,
+-- then drop the old column.
+CREATE TABLE IF NOT EXISTS resume_contents (
+    resume_id BIGINT NOT NULL PRIMARY KEY,
+    parsed_text LONGTEXT
+);
+
+INSERT IGNORE INTO resume_contents (resume_id, parsed_text)
+SELECT id, parsed_text FROM resumes WHERE parsed_text IS NOT NULL;
+
+ALTER TABLE resumes DROP COLUMN parsed_text;
@@ -0,0 +1,7 @@
+-- Large text columns are stored through CompressedTextConverter. Switch them to
+-- binary types; MySQL keeps the existing UTF-8 bytes, which the converter still
+-- reads as plain text. TextCompressionMigrator compresses old rows afterwards.
+ALTER TABLE resume_contents MODIFY COLUMN parsed_text LONGBLOB;
+ALTER TABLE interview_questions MODIFY COLUMN user_answer LONGBLOB;
+ALTER TABLE interview_questions MODIFY COLUMN ai_feedback BLOB;
+ALTER TABLE interview_report MODIFY COLUMN summary BLOB;
@@ -0,0 +1,61 @@
+-- Materialized dashboard stats (entity UserStats). New activity keeps the table
+-- current through upserts; this backfills users from their existing history.
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    total_interviews BIGINT NOT NULL DEFAULT 0,
+    completed_interviews BIGINT NOT NULL DEFAULT 0,
+    latest_interview_score DOUBLE,
+    previous_interview_score DOUBLE,
+    analysed_resumes BIGINT NOT NULL DEFAULT 0,
+    latest_ats_score INT,
+    previous_ats_score INT,
+    updated_at DATETIME(6) NOT NULL
+);
+
+INSERT INTO user_stats (user_id, total_interviews, completed_interviews, analysed_resumes, updated_at)
+SELECT user_id, COUNT(*), SUM(session_status = 'COMPLETED'), 0, NOW()
+FROM interview_sessions
+GROUP BY user_id
+ON DUPLICATE KEY UPDATE total_interviews = VALUES(total_interviews),
+                        completed_interviews = VALUES(completed_interviews);
+
+INSERT INTO user_stats (user_id, total_interviews, completed_interviews, analysed_resumes, updated_at)
+SELECT r.user_id, 0, 0, COUNT(*), NOW()
+FROM resume_analysis ra JOIN resumes r ON r.id = ra.resume_id
+GROUP BY r.user_id
+ON DUPLICATE KEY UPDATE analysed_resumes = VALUES(analysed_resumes);
+
+-- Two most recent completed interviews (by start time) and their report scores
+UPDATE user_stats us
+JOIN (
+    SELECT user_id,
+           MAX(CASE WHEN rn = 1 THEN overall_score END) AS latest,
+           MAX(CASE WHEN rn = 2 THEN overall_score END) AS previous
+    FROM (
+        SELECT s.user_id, r.overall_score,
+               ROW_NUMBER() OVER (PARTITION BY s.user_id ORDER BY s.started_at DESC, s.id DESC) AS rn
+        FROM interview_sessions s LEFT JOIN interview_report r ON r.session_id = s.id
+        WHERE s.session_status = 'COMPLETED'
+    ) ranked
+    WHERE rn <= 2
+    GROUP BY user_id
+) scores ON scores.user_id = us.user_id
+SET us.latest_interview_score = scores.latest,
+    us.previous_interview_score = scores.previous;
+
+-- Two most recent resume analyses and their ATS scores
+UPDATE user_stats us
+JOIN (
+    SELECT user_id,
+           MAX(CASE WHEN rn = 1 THEN ats_score END) AS latest,
+           MAX(CASE WHEN rn = 2 THEN ats_score END) AS previous
+    FROM (
+        SELECT r.user_id, ra.ats_score,
+               ROW_NUMBER() OVER (PARTITION BY r.user_id ORDER BY ra.created_at DESC, ra.id DESC) AS rn
+        FROM resume_analysis ra JOIN resumes r ON r.id = ra.resume_id
+    ) ranked
+    WHERE rn <= 2
+    GROUP BY user_id
+) scores ON scores.user_id = us.user_id
+SET us.latest_ats_score = scores.latest,
+    us.previous_ats_score = scores.previous;
@@ -0,0 +1,6 @@
+-- Resume history pages seek on resume_analysis (user_id, created_at, id). The
+-- column and index are added by Hibernate (ddl-auto=update), which fills
+-- existing rows with 0; copy the owner over from the resume.
+UPDATE resume_analysis ra JOIN resumes r ON r.id = ra.resume_id
+SET ra.user_id = r.user_id
+WHERE ra.user_id IS NULL OR ra.user_id <> r.user_id;
@@ -0,0 +1,93 @@
+package com.example.theinterviewer.dto.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000);
+
+    @Test
+    void roundTripsThroughAnOpaqueUrlSafeString() {
+        KeysetCursor cursor = new KeysetCursor(AT, 42L);
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("|"));
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, KeysetCursor.decode(encoded));
+    }
+
+    @Test
+    void keepsWholeSecondTimestamps() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 1, 1, 0, 0), 1L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+        assertNull(KeysetCursor.decode("  "));
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("2025-01-01T00:00|abc")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("yesterday|5")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encode("no separator")));
+    }
+
+    @Test
+    void clampsLimit() {
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.clampLimit(null));
+        assertEquals(1, KeysetCursor.clampLimit(0));
+        assertEquals(1, KeysetCursor.clampLimit(-5));
+        assertEquals(30, KeysetCursor.clampLimit(30));
+        assertEquals(KeysetCursor.MAX_LIMIT, KeysetCursor.clampLimit(10_000));
+    }
+
+    @Test
+    void extraRowSignalsNextPageFromTheLastKeptRow() {
+        List<Long> rows = List.of(5L, 4L, 3L);
+
+        CursorPage<String> page = KeysetCursor.page(rows, 2, KeysetCursorTest::positionOf, String::valueOf);
+
+        assertEquals(List.of("5", "4"), page.getItems());
+        assertEquals(positionOf(4L), KeysetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        CursorPage<Long> full = KeysetCursor.page(List.of(2L, 1L), 2, KeysetCursorTest::positionOf,
+                Function.identity());
+        CursorPage<Long> empty = KeysetCursor.page(List.<Long>of(), 2, KeysetCursorTest::positionOf,
+                Function.identity());
+
+        assertEquals(List.of(2L, 1L), full.getItems());
+        assertNull(full.getNextCursor());
+        assertTrue(empty.getItems().isEmpty());
+        assertNull(empty.getNextCursor());
+    }
+
+    private static KeysetCursor positionOf(Long id) {
+        return new KeysetCursor(AT.minusMinutes(id), id);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.theinterviewer.entity.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void roundTripsLargeTextCompressed() {
+        String text = "Senior Java developer with Spring Boot, MySQL and Kafka experience. ".repeat(100)
+                + "Naïve café résumé — 日本語";
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertTrue(CompressedTextConverter.isCompressed(stored));
+        assertTrue(stored.length < text.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(text, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void leavesSmallValuesAsPlainUtf8() {
+        byte[] stored = converter.convertToDatabaseColumn("short answer");
+
+        assertFalse(CompressedTextConverter.isCompressed(stored));
+        assertArrayEquals("short answer".getBytes(StandardCharsets.UTF_8), stored);
+    }
+
+    @Test
+    void leavesIncompressibleValuesAsPlainUtf8() {
+        byte[] random = new byte[4096];
+        new Random(42).nextBytes(random);
+
+        assertArrayEquals(random, CompressedTextConverter.compress(random));
+    }
+
+    @Test
+    void readsLegacyUncompressedRows() {
+        String legacy = "x".repeat(1000);
+
+        assertEquals(legacy, converter.convertToEntityAttribute(legacy.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void passesNullsThrough() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void rejectsTruncatedAndUnknownVersionData() {
+        byte[] stored = converter.convertToDatabaseColumn("abc".repeat(500));
+
+        byte[] truncated = Arrays.copyOf(stored, stored.length / 2);
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(truncated));
+
+        byte[] futureVersion = stored.clone();
+        futureVersion[2] = 9;
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(futureVersion));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.theinterviewer.service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void emptyTreeHasNothingAbove() {
+        OrderStatisticTree tree = new OrderStatisticTree();
+
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.countGreater(0.0));
+    }
+
+    @Test
+    void countsStrictlyGreaterScores() {
+        OrderStatisticTree tree = new OrderStatisticTree();
+        tree.insert(50.0, 1);
+        tree.insert(70.0, 2);
+        tree.insert(70.0, 3);
+        tree.insert(90.0, 4);
+
+        assertEquals(4, tree.size());
+        assertEquals(3, tree.countGreater(50.0));
+        assertEquals(1, tree.countGreater(70.0));
+        assertEquals(0, tree.countGreater(90.0));
+        assertEquals(4, tree.countGreater(10.0));
+    }
+
+    @Test
+    void removeOnlyDropsTheMatchingUser() {
+        OrderStatisticTree tree = new OrderStatisticTree();
+        tree.insert(70.0, 1);
+        tree.insert(70.0, 2);
+
+        tree.remove(70.0, 1);
+
+        assertEquals(1, tree.size());
+        assertEquals(1, tree.countGreater(60.0));
+    }
+
+    @Test
+    void removingAMissingEntryIsANoOp() {
+        OrderStatisticTree tree = new OrderStatisticTree();
+        tree.insert(70.0, 1);
+
+        tree.remove(70.0, 2);
+        tree.remove(80.0, 1);
+
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomUpdates() {
+        Random random = new Random(42);
+        OrderStatisticTree tree = new OrderStatisticTree();
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            long userId = random.nextInt(300);
+            Double previous = scores.get(userId);
+            if (previous != null) {
+                tree.remove(previous, userId);
+                scores.remove(userId);
+            }
+            if (random.nextInt(4) != 0) {
+                double score = random.nextInt(101);
+                tree.insert(score, userId);
+                scores.put(userId, score);
+            }
+
+            double probe = random.nextInt(101);
+            long expected = scores.values().stream().filter(s -> s > probe).count();
+            assertEquals(scores.size(), tree.size());
+            assertEquals(expected, tree.countGreater(probe));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.theinterviewer.service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScoreHistogramTest {
+
+    @Test
+    void emptyHistogramPutsEveryoneAtTheTop() {
+        assertEquals(100.0, new ScoreHistogram().topPercent(5.0));
+    }
+
+    @Test
+    void replacedScoreIsSubtracted() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(6.0, 1);
+        histogram.add(6.0, -1);
+        histogram.add(8.0, 1);
+
+        assertEquals(1, histogram.total());
+        assertEquals(0, histogram.toArray()[120]);
+        assertEquals(1, histogram.toArray()[160]);
+    }
+
+    @Test
+    void scoresOutsideTheRangeAreClamped() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(-3.0, 1);
+        histogram.add(42.0, 1);
+
+        long[] counts = histogram.toArray();
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[ScoreHistogram.BINS - 1]);
+    }
+
+    @Test
+    void topPercentCountsHalfOfTheOwnBin() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (int score = 1; score <= 10; score++) {
+            histogram.add(score, 1);
+        }
+
+        // One score above 9 plus half of the 9 bin, out of ten
+        assertEquals(15.0, histogram.topPercent(9.0), 1e-9);
+        assertEquals(5.0, histogram.topPercent(10.0), 1e-9);
+        assertEquals(95.0, histogram.topPercent(1.0), 1e-9);
+    }
+
+    @Test
+    void negativeBinsFromUnmergedDeltasAreIgnored() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(5.0, 2);
+        histogram.add(7.0, -1);
+
+        // The -1 above would otherwise shrink the total; half of the two 5s over two
+        assertEquals(50.0, histogram.topPercent(5.0), 1e-9);
+    }
+
+    @Test
+    void mergeAddsBinsAndIgnoresForeignShapes() {
+        ScoreHistogram a = new ScoreHistogram();
+        a.add(4.0, 2);
+        ScoreHistogram b = new ScoreHistogram();
+        b.add(4.0, -1);
+        b.add(9.5, 3);
+
+        a.merge(b.toArray());
+        a.merge(new long[] { 1, 2, 3 });
+        a.merge(null);
+
+        assertEquals(4, a.total());
+        assertEquals(1, a.toArray()[80]);
+        assertEquals(3, a.toArray()[190]);
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(3.0, 1);
+        long[] snapshot = histogram.toArray();
+        ScoreHistogram copy = new ScoreHistogram(snapshot);
+
+        histogram.clear();
+        snapshot[60] = 99;
+
+        assertEquals(0, histogram.total());
+        assertEquals(1, copy.total());
+        assertArrayEquals(new long[ScoreHistogram.BINS], histogram.toArray());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.theinterviewer.service.storage;
+
+import com.example.theinterviewer.exception.InvalidFileException;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DocxTextExtractorTest {
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final long INFLATE_LIMIT = 50L * 1024 * 1024;
+
+    @Test
+    void extractsParagraphsAsLines() throws IOException {
+        String text = extract(body("<w:p><w:r><w:t>Jane Doe</w:t></w:r></w:p>"
+                + "<w:p><w:r><w:t xml:space=\"preserve\">Java </w:t></w:r><w:r><w:t>developer</w:t></w:r></w:p>"));
+
+        assertEquals("Jane Doe\nJava developer", text);
+    }
+
+    @Test
+    void emitsRunTabsButNotTabStopDefinitions() throws IOException {
+        String text = extract(body("<w:p><w:pPr><w:tabs><w:tab w:val=\"left\" w:pos=\"720\"/></w:tabs></w:pPr>"
+                + "<w:r><w:t>Skills</w:t><w:tab/><w:t>Java</w:t></w:r></w:p>"));
+
+        assertEquals("Skills\tJava", text);
+    }
+
+    @Test
+    void joinsTableCellsWithSeparators() throws IOException {
+        String text = extract(body("<w:tbl><w:tr>"
+                + "<w:tc><w:p><w:r><w:t>Languages</w:t></w:r></w:p></w:tc>"
+                + "<w:tc><w:p><w:r><w:t>Java</w:t></w:r></w:p><w:p><w:r><w:t>Go</w:t></w:r></w:p></w:tc>"
+                + "</w:tr></w:tbl>"));
+
+        assertEquals("Languages | Java Go", text);
+    }
+
+    @Test
+    void stopsAtMaxChars() throws IOException {
+        String text = DocxTextExtractor.extract(new ByteArrayInputStream(
+                docx(body("<w:p><w:r><w:t>abcdefghijklmnopqrstuvwxyz</w:t></w:r></w:p>"))), 10, INFLATE_LIMIT);
+
+        assertEquals("abcdefghij", text);
+    }
+
+    @Test
+    void rejectsMarkupBombPastTheInflateLimit() throws IOException {
+        // Markup only, so no text is collected and maxChars never stops it
+        byte[] docx = docx(body("<w:p>" + "<w:r/>".repeat(400_000) + "</w:p>"));
+
+        assertThrows(InvalidFileException.class,
+                () -> DocxTextExtractor.extract(new ByteArrayInputStream(docx), 50_000, 1024 * 1024));
+    }
+
+    @Test
+    void countsPartsInflatedBeforeTheDocument() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("word/media/padding.bin"));
+            zip.write(new byte[2 * 1024 * 1024]);
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(body("<w:p><w:r><w:t>Jane</w:t></w:r></w:p>").getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] docx = out.toByteArray();
+
+        assertThrows(InvalidFileException.class,
+                () -> DocxTextExtractor.extract(new ByteArrayInputStream(docx), 50_000, 1024 * 1024));
+        assertEquals("Jane", DocxTextExtractor.extract(new ByteArrayInputStream(docx), 50_000, INFLATE_LIMIT));
+    }
+
+    @Test
+    void matchesPoiDomPathOnAGeneratedResume() throws IOException {
+        byte[] docx = generatedResume(400);
+
+        assertEquals(poiText(docx), DocxTextExtractor.extract(new ByteArrayInputStream(docx), Integer.MAX_VALUE,
+                INFLATE_LIMIT));
+    }
+
+    private static String extract(String documentXml) throws IOException {
+        return DocxTextExtractor.extract(new ByteArrayInputStream(docx(documentXml)), 50_000, INFLATE_LIMIT);
+    }
+
+    private static String body(String content) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><w:document xmlns:w=\"" + W + "\"><w:body>" + content
+                + "</w:body></w:document>";
+    }
+
+    private static byte[] docx(String documentXml) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(documentXml.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] generatedResume(int paragraphs) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < paragraphs; i++) {
+                XWPFParagraph paragraph = document.createParagraph();
+                XWPFRun run = paragraph.createRun();
+                run.setText("Project " + i + ": built a distributed job scheduler");
+                run.addTab();
+                run.setText("Java, Spring Boot, MySQL, Kafka and Kubernetes");
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static String poiText(byte[] docx) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(docx))) {
+            StringBuilder text = new StringBuilder();
+            for (XWPFParagraph paragraph : document.getParagraphs()) {
+                text.append(paragraph.getText()).append('\n');
+            }
+            return text.toString().trim();
+        }
+    }
+}
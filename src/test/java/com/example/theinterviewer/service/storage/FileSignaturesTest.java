@@ -0,0 +1,99 @@
+package com.example.theinterviewer.service.storage;
+
+import com.example.theinterviewer.exception.InvalidFileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSignaturesTest {
+
+    private static final byte[] SMALL = "<xml/>".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void recognisesPdfByHeaderAndEofMarker() {
+        byte[] head = "%PDF-1.7\n1 0 obj".getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = "startxref\n123\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertTrue(FileSignatures.looksLikePdf(head, tail));
+        assertFalse(FileSignatures.looksLikePdf(head, "truncated".getBytes(StandardCharsets.US_ASCII)));
+        assertFalse(FileSignatures.looksLikePdf("GIF89a".getBytes(StandardCharsets.US_ASCII), tail));
+    }
+
+    @Test
+    void rejectsPdfHeaderBeyondFirstKilobyte() {
+        byte[] head = new byte[2048];
+        System.arraycopy("%PDF-".getBytes(StandardCharsets.US_ASCII), 0, head, 1500, 5);
+
+        assertFalse(FileSignatures.looksLikePdf(head, "%%EOF".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void recognisesZipLocalHeader() throws IOException {
+        assertTrue(FileSignatures.isZip(zip(Map.of("a.txt", SMALL))));
+        assertFalse(FileSignatures.isZip("%PDF-".getBytes(StandardCharsets.US_ASCII)));
+        assertFalse(FileSignatures.isZip(new byte[2]));
+    }
+
+    @Test
+    void acceptsWellFormedDocx() throws IOException {
+        byte[] docx = zip(Map.of("[Content_Types].xml", SMALL, "word/document.xml", SMALL));
+
+        assertDoesNotThrow(() -> FileSignatures.checkDocxStructure(docx, 100, 10_000_000, 100));
+    }
+
+    @Test
+    void rejectsZipWithoutDocumentPart() throws IOException {
+        byte[] zip = zip(Map.of("[Content_Types].xml", SMALL, "xl/workbook.xml", SMALL));
+
+        assertThrows(InvalidFileException.class, () -> FileSignatures.checkDocxStructure(zip, 100, 10_000_000, 100));
+    }
+
+    @Test
+    void rejectsTooManyEntries() throws IOException {
+        byte[] docx = zip(Map.of("[Content_Types].xml", SMALL, "word/document.xml", SMALL, "word/a.xml", SMALL));
+
+        assertThrows(InvalidFileException.class, () -> FileSignatures.checkDocxStructure(docx, 2, 10_000_000, 100));
+    }
+
+    @Test
+    void rejectsHighlyCompressedEntries() throws IOException {
+        byte[] docx = zip(Map.of("[Content_Types].xml", SMALL, "word/document.xml", new byte[8 * 1024 * 1024]));
+
+        assertThrows(InvalidFileException.class, () -> FileSignatures.checkDocxStructure(docx, 100, 100_000_000, 100));
+    }
+
+    @Test
+    void rejectsDeclaredSizeOverLimit() throws IOException {
+        byte[] docx = zip(Map.of("[Content_Types].xml", SMALL, "word/document.xml", new byte[64 * 1024]));
+
+        assertThrows(InvalidFileException.class, () -> FileSignatures.checkDocxStructure(docx, 100, 32 * 1024, 10_000));
+    }
+
+    @Test
+    void rejectsTailWithoutCentralDirectory() {
+        assertThrows(InvalidFileException.class,
+                () -> FileSignatures.checkDocxStructure(new byte[4096], 100, 10_000_000, 100));
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.theinterviewer.service.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalBlobStorageTest {
+
+    @TempDir
+    Path uploadDirectory;
+
+    private LocalBlobStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalBlobStorage();
+        ReflectionTestUtils.setField(storage, "uploadDirectory", uploadDirectory.toString());
+    }
+
+    @Test
+    void storesUnderShardedSha256KeyAndReadsBack() throws IOException {
+        byte[] content = "resume contents".getBytes(StandardCharsets.UTF_8);
+
+        BlobStorage.StoredBlob blob = store(content, "cv.pdf");
+
+        String sha256 = blob.sha256();
+        assertEquals(64, sha256.length());
+        assertEquals(sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256, blob.key());
+        assertEquals(content.length, blob.size());
+        assertTrue(Files.isRegularFile(uploadDirectory.resolve(blob.key())));
+        try (InputStream in = storage.open(blob.key())) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void identicalContentSharesOneFileAndLeavesNoTempFiles() throws IOException {
+        byte[] content = "same bytes".getBytes(StandardCharsets.UTF_8);
+
+        BlobStorage.StoredBlob first = store(content, "a.pdf");
+        BlobStorage.StoredBlob second = store(content, "b.pdf");
+
+        assertEquals(first.key(), second.key());
+        try (Stream<Path> incoming = Files.list(uploadDirectory.resolve(".incoming"))) {
+            assertEquals(0, incoming.count());
+        }
+    }
+
+    @Test
+    void differentContentGetsDifferentKeys() throws IOException {
+        BlobStorage.StoredBlob first = store("one".getBytes(StandardCharsets.UTF_8), "a.pdf");
+        BlobStorage.StoredBlob second = store("two".getBytes(StandardCharsets.UTF_8), "a.pdf");
+
+        assertFalse(first.key().equals(second.key()));
+    }
+
+    @Test
+    void resolvesLegacyPlainPathKeys() throws IOException {
+        Path legacy = Files.writeString(uploadDirectory.resolve("legacy-upload.pdf"), "old layout");
+
+        try (InputStream in = storage.open(legacy.toString())) {
+            assertEquals("old layout", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(legacy, storage.localFile(legacy.toString()).orElseThrow());
+    }
+
+    @Test
+    void deleteRemovesBlob() throws IOException {
+        BlobStorage.StoredBlob blob = store("to delete".getBytes(StandardCharsets.UTF_8), "c.pdf");
+
+        storage.delete(blob.key());
+
+        assertFalse(Files.exists(uploadDirectory.resolve(blob.key())));
+    }
+
+    private BlobStorage.StoredBlob store(byte[] content, String fileName) throws IOException {
+        return storage.store(new ByteArrayInputStream(content), content.length, fileName);
+    }
+}